@@ -0,0 +1,122 @@
+package suprim.sepay.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import suprim.sepay.order.Order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares blocking {@code get} throughput when callers run on a bounded platform-thread pool
+ * versus one virtual thread per call, against a local stub server with fixed latency.
+ *
+ * <p>Virtual mode requires Java 21+. Run with:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ExecutorBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final byte[] ORDER_JSON =
+        "{\"id\":\"ord_bench\",\"status\":\"completed\",\"amount\":100000,\"currency\":\"VND\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"20"})
+    public int latencyMs;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService callers;
+    private SePayHttpClient client;
+    private String url;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.createContext("/v1/order/detail/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ORDER_JSON.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(ORDER_JSON);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        url = baseUrl + "/v1/order/detail/ord_bench";
+
+        SePayClientConfig.Builder builder = SePayClientConfig.builder("SP-BENCH", "bench-secret")
+            .apiBaseUrl(baseUrl)
+            .maxRetries(0);
+        if ("virtual".equals(mode)) {
+            if (!VirtualThreads.isSupported()) {
+                throw new IllegalStateException("virtual mode requires Java 21+");
+            }
+            builder.virtualThreads(true);
+            callers = VirtualThreads.newExecutor();
+        } else {
+            callers = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        }
+        client = new SePayHttpClient(builder.build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        callers.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void blockingRetrieve(Blackhole bh) throws Exception {
+        List<Future<Order>> futures = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures.add(callers.submit(() -> client.get(url, Order.class)));
+        }
+        for (Future<Order> future : futures) {
+            bh.consume(future.get());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package suprim.sepay.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a single {@link Order} and a 50-order {@link OrderListResponse} page:
+ * {@code readValue} on a String (the previous approach), a cached {@code ObjectReader} on the
+ * response bytes, and the same with Blackbird registered.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JsonDecodeBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"string", "reader", "blackbird"})
+    public String mode;
+
+    private ObjectMapper stringMapper;
+    private JsonCodec codec;
+    private String orderJson;
+    private byte[] orderBytes;
+    private String pageJson;
+    private byte[] pageBytes;
+
+    @Setup
+    public void setUp() {
+        stringMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codec = new JsonCodec(JsonCodec.newMapper("blackbird".equals(mode)));
+
+        orderJson = order(0);
+        StringBuilder page = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.append(i == 0 ? "" : ",").append(order(i));
+        }
+        pageJson = page.append("],\"total\":5000,\"page\":1,\"per_page\":50,\"total_pages\":100}").toString();
+        orderBytes = orderJson.getBytes(StandardCharsets.UTF_8);
+        pageBytes = pageJson.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String order(int i) {
+        return "{\"id\":\"ord_" + i + "\",\"order_invoice_number\":\"INV-" + i + "\",\"status\":\"completed\","
+            + "\"amount\":100000,\"currency\":\"VND\",\"customer_id\":\"cust_" + i + "\","
+            + "\"description\":\"Thanh toan don hang " + i + "\",\"payment_method\":\"BANK_TRANSFER\","
+            + "\"created_at\":\"2024-01-15T10:30:00\",\"updated_at\":\"2024-01-15T10:35:00\","
+            + "\"reference_code\":\"FT2401" + i + "\",\"transaction_id\":\"txn_" + i + "\","
+            + "\"transaction_status\":\"success\"}";
+    }
+
+    @Benchmark
+    public Order decodeOrder() throws Exception {
+        return "string".equals(mode)
+            ? stringMapper.readValue(orderJson, Order.class)
+            : codec.read(orderBytes, Order.class);
+    }
+
+    @Benchmark
+    public OrderListResponse decodePage() throws Exception {
+        return "string".equals(mode)
+            ? stringMapper.readValue(pageJson, OrderListResponse.class)
+            : codec.read(pageBytes, OrderListResponse.class);
+    }
+}
@@ -0,0 +1,108 @@
+package suprim.sepay.client;
+
+import suprim.sepay.config.Endpoint;
+
+import java.util.Arrays;
+
+/**
+ * Client-wide limit on in-flight requests that adapts to how SePay is coping (AIMD).
+ *
+ * <p>Every attempt, including retries, holds a permit while it is in flight. The limit grows
+ * by roughly one per round trip while responses are healthy and the limiter is actually
+ * using its capacity. It is cut by {@value #BACKOFF_RATIO} when a call is dropped (429, 5xx or
+ * transport error) or when latency rises above {@value #RTT_TOLERANCE} times the observed
+ * no-load round trip time of the same endpoint, backing off before SePay starts rejecting
+ * requests. Each endpoint is compared with its own minimum, so a list call that is always
+ * slower than a detail lookup is not read as overload. Latency is judged on a smoothed
+ * average rather than single samples, and cuts the limit at most once per window of
+ * responses, so ordinary tail jitter does not hold the limit down.
+ */
+public final class AdaptiveConcurrencyLimiter extends PermitQueue {
+
+    static final double BACKOFF_RATIO = 0.9;
+    static final double RTT_TOLERANCE = 2.0;
+    // Re-measure the no-load RTT periodically so a permanent latency shift is not read as overload
+    static final int RTT_RESET_INTERVAL = 1000;
+    // Weight of each new sample in the smoothed RTT
+    static final double RTT_SMOOTHING = 0.2;
+    private static final int MIN_LIMIT = 1;
+
+    private final int maxLimit;
+    private double estimatedLimit;
+    // Indexed by Endpoint ordinal
+    private final long[] minRttNanos = new long[Endpoint.values().length];
+    private final int[] samples = new int[Endpoint.values().length];
+    private final double[] smoothedRttNanos = new double[Endpoint.values().length];
+    // Responses to wait after a latency cut before the next, about one round trip's worth
+    private int responsesUntilNextCut;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        super(initialLimit);
+        if (maxLimit < initialLimit) {
+            throw new IllegalArgumentException("maxLimit must not be less than initialLimit");
+        }
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        Arrays.fill(minRttNanos, Long.MAX_VALUE);
+    }
+
+    /**
+     * Records a healthy response from an endpoint and its round trip time. Call before
+     * {@link #release()}.
+     */
+    public void onSuccess(Endpoint endpoint, long rttNanos) {
+        int inFlight = getActiveCalls();
+        int index = endpoint.ordinal();
+        int newLimit;
+        synchronized (this) {
+            if (++samples[index] % RTT_RESET_INTERVAL == 0 || rttNanos < minRttNanos[index]) {
+                minRttNanos[index] = rttNanos;
+            }
+            smoothedRttNanos[index] = samples[index] == 1 ? rttNanos
+                : smoothedRttNanos[index] + RTT_SMOOTHING * (rttNanos - smoothedRttNanos[index]);
+            if (smoothedRttNanos[index] > minRttNanos[index] * RTT_TOLERANCE) {
+                if (responsesUntilNextCut <= 0) {
+                    estimatedLimit = Math.max(MIN_LIMIT, estimatedLimit * BACKOFF_RATIO);
+                    responsesUntilNextCut = (int) estimatedLimit;
+                } else {
+                    responsesUntilNextCut--;
+                }
+            } else if (inFlight * 2 >= estimatedLimit) {
+                // Only grow while the current limit is being used
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + 1 / estimatedLimit);
+            }
+            newLimit = (int) estimatedLimit;
+        }
+        applyLimit(newLimit);
+    }
+
+    /**
+     * Records a call SePay rejected or failed (429, 5xx, transport error). Call before
+     * {@link #release()}.
+     */
+    public void onDropped() {
+        int newLimit;
+        synchronized (this) {
+            estimatedLimit = Math.max(MIN_LIMIT, estimatedLimit * BACKOFF_RATIO);
+            newLimit = (int) estimatedLimit;
+        }
+        applyLimit(newLimit);
+    }
+
+    private void applyLimit(int newLimit) {
+        if (newLimit != limit()) {
+            setLimit(newLimit);
+        }
+    }
+
+    /**
+     * Returns the current limit on in-flight requests.
+     */
+    public int getLimit() {
+        return limit();
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
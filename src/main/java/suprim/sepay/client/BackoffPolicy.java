@@ -0,0 +1,72 @@
+package suprim.sepay.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delay before a retry.
+ *
+ * <p>Jittered policies spread retries from many clients over time, so they do not hit SePay
+ * in synchronized waves after an incident. A {@code Retry-After} header from the server takes
+ * precedence when it asks for a longer delay.
+ */
+@FunctionalInterface
+public interface BackoffPolicy {
+
+    /**
+     * Returns the delay before the next attempt.
+     *
+     * @param attempt         zero-based index of the attempt that just failed
+     * @param previousDelayMs the delay used before that attempt, or 0 for the first attempt
+     * @return delay in milliseconds
+     */
+    long delayMs(int attempt, long previousDelayMs);
+
+    /**
+     * Caps the delays of this policy.
+     *
+     * @param maxDelayMs the maximum delay in milliseconds
+     * @return capped policy
+     */
+    default BackoffPolicy capped(long maxDelayMs) {
+        return (attempt, previousDelayMs) -> Math.min(maxDelayMs, delayMs(attempt, previousDelayMs));
+    }
+
+    /**
+     * Linear backoff without jitter: {@code baseMs * (attempt + 1)}.
+     */
+    static BackoffPolicy linear(long baseMs) {
+        return (attempt, previousDelayMs) -> baseMs * (attempt + 1);
+    }
+
+    /**
+     * Exponential backoff without jitter: {@code min(maxMs, baseMs * 2^attempt)}.
+     */
+    static BackoffPolicy exponential(long baseMs, long maxMs) {
+        return (attempt, previousDelayMs) -> exponentialCeiling(baseMs, maxMs, attempt);
+    }
+
+    /**
+     * Exponential backoff with full jitter: uniformly random in {@code [0, min(maxMs, baseMs * 2^attempt)]}.
+     */
+    static BackoffPolicy fullJitter(long baseMs, long maxMs) {
+        return (attempt, previousDelayMs) ->
+            ThreadLocalRandom.current().nextLong(exponentialCeiling(baseMs, maxMs, attempt) + 1);
+    }
+
+    /**
+     * Decorrelated jitter: uniformly random in {@code [baseMs, previousDelay * 3]}, capped at {@code maxMs}.
+     */
+    static BackoffPolicy decorrelatedJitter(long baseMs, long maxMs) {
+        return (attempt, previousDelayMs) -> {
+            long upper = Math.max(baseMs, previousDelayMs) * 3;
+            long delay = upper > baseMs ? ThreadLocalRandom.current().nextLong(baseMs, upper + 1) : baseMs;
+            return Math.min(maxMs, delay);
+        };
+    }
+
+    private static long exponentialCeiling(long baseMs, long maxMs, int attempt) {
+        // Shift guarded so large attempt counts saturate instead of overflowing
+        long factor = 1L << Math.min(attempt, 30);
+        return baseMs > maxMs / factor ? maxMs : Math.min(maxMs, baseMs * factor);
+    }
+}
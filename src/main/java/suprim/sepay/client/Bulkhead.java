@@ -0,0 +1,28 @@
+package suprim.sepay.client;
+
+import suprim.sepay.config.Endpoint;
+
+/**
+ * Limits the number of concurrent calls to one endpoint family.
+ *
+ * <p>Callers that find all permits taken wait in a FIFO queue, whether they block
+ * ({@link #tryAcquire(long, java.util.concurrent.TimeUnit)}) or not ({@link #acquireAsync()}),
+ * so sync and async callers are served in arrival order.
+ */
+public final class Bulkhead extends PermitQueue {
+
+    private final Endpoint endpoint;
+
+    Bulkhead(Endpoint endpoint, int maxConcurrentCalls) {
+        super(maxConcurrentCalls);
+        this.endpoint = endpoint;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return limit();
+    }
+}
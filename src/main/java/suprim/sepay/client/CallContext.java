@@ -0,0 +1,131 @@
+package suprim.sepay.client;
+
+import suprim.sepay.exception.SePayTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Deadline and cancellation for one or more calls, e.g. everything done to serve one
+ * incoming request.
+ *
+ * <p>The deadline bounds a call across all its attempts: each attempt's timeout is cut to
+ * the time left, a retry whose backoff would end past the deadline is not made, and the
+ * call fails with {@link SePayTimeoutException} once the deadline passes. {@link #cancel()}
+ * aborts every call still running under the context, including the exchange in flight.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * CallContext context = CallContext.withTimeout(Duration.ofSeconds(2));
+ * Order order = client.orders().retrieve(orderId, context);
+ * client.orders().cancel(orderId, context); // shares what is left of the 2 seconds
+ * }</pre>
+ */
+public final class CallContext {
+
+    private final long startNanos;
+    // Long.MAX_VALUE when there is no deadline
+    private final long timeoutNanos;
+    private final Set<CompletableFuture<?>> calls = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private CallContext(long timeoutNanos) {
+        this.startNanos = System.nanoTime();
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Creates a context whose deadline is the given time from now.
+     */
+    public static CallContext withTimeout(Duration timeout) {
+        if (isNull(timeout) || timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout cannot be null or negative");
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        return new CallContext(nanos);
+    }
+
+    /**
+     * Creates a context with a deadline at the given instant; one in the past is already expired.
+     */
+    public static CallContext withDeadline(Instant deadline) {
+        if (isNull(deadline)) {
+            throw new IllegalArgumentException("deadline cannot be null");
+        }
+        Duration timeout = Duration.between(Instant.now(), deadline);
+        return withTimeout(timeout.isNegative() ? Duration.ZERO : timeout);
+    }
+
+    /**
+     * Creates a context without a deadline, only to be able to cancel its calls.
+     */
+    public static CallContext cancellable() {
+        return new CallContext(Long.MAX_VALUE);
+    }
+
+    /**
+     * Cancels every call running under this context and any call started under it later.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> call : calls) {
+            call.cancel(false);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean hasDeadline() {
+        return timeoutNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the time left before the deadline in nanoseconds, 0 once it has passed, or
+     * {@code Long.MAX_VALUE} if there is no deadline.
+     */
+    public long remainingNanos() {
+        if (!hasDeadline()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, timeoutNanos - (System.nanoTime() - startNanos));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+    /**
+     * Runs a call under this context: it is cancelled with the context and fails with
+     * {@link SePayTimeoutException} at the deadline.
+     */
+    void attach(CompletableFuture<?> call) {
+        calls.add(call);
+        call.whenComplete((value, error) -> calls.remove(call));
+        if (cancelled) {
+            call.cancel(false);
+        }
+        if (hasDeadline()) {
+            // orTimeout drops its timer once completed, so a call finishing early leaves nothing behind
+            CompletableFuture<Void> timer = new CompletableFuture<Void>()
+                .orTimeout(remainingNanos(), TimeUnit.NANOSECONDS);
+            timer.exceptionally(error -> {
+                call.completeExceptionally(new SePayTimeoutException("Deadline exceeded"));
+                return null;
+            });
+            call.whenComplete((value, error) -> timer.complete(null));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package suprim.sepay.client;
+
+import suprim.sepay.config.Endpoint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Circuit breaker for one SePay endpoint family.
+ *
+ * <p>Records the outcome and duration of the most recent calls in a count-based sliding window.
+ * When the failure rate or slow-call rate reaches its threshold the circuit opens and
+ * {@link SePayHttpClient} fails calls fast with
+ * {@link suprim.sepay.exception.SePayCircuitOpenException} instead of waiting for timeouts.
+ * After the open wait duration a limited number of probe calls are let through (half-open);
+ * the circuit closes if they are healthy and opens again otherwise.
+ *
+ * <p>5xx responses and I/O errors count as failures. Other responses count as successes,
+ * except 429, which is ignored: rate limiting says nothing about server health.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * Circuit breaker state.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Receives state transitions, e.g. to export them as metrics or log them.
+     */
+    @FunctionalInterface
+    public interface StateListener {
+        void onStateTransition(Endpoint endpoint, State from, State to);
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final Endpoint endpoint;
+    private final CircuitBreakerConfig config;
+    private final LongSupplier nanoTime;
+    private final long slowCallDurationNanos;
+    private final long waitDurationInOpenStateNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private final byte[] window;
+    private int windowSize;
+    private int windowIndex;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+
+    CircuitBreaker(Endpoint endpoint, CircuitBreakerConfig config) {
+        this(endpoint, config, System::nanoTime);
+    }
+
+    // For testing - allows injection of a fake clock
+    CircuitBreaker(Endpoint endpoint, CircuitBreakerConfig config, LongSupplier nanoTime) {
+        this.endpoint = endpoint;
+        this.config = config;
+        this.nanoTime = nanoTime;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMs());
+        this.waitDurationInOpenStateNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitDurationInOpenStateMs());
+        this.window = new byte[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * Returns whether a call may proceed. While half-open this consumes one probe permit,
+     * which must be returned through one of the {@code on*} methods.
+     */
+    public boolean tryAcquirePermission() {
+        State from;
+        synchronized (this) {
+            from = state;
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (nanoTime.getAsLong() - openedAtNanos < waitDurationInOpenStateNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        notifyTransition(from, State.HALF_OPEN);
+        return true;
+    }
+
+    /**
+     * Records a successful (non-5xx) call.
+     */
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    /**
+     * Records a failed call (5xx or I/O error).
+     */
+    public void onFailure(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    /**
+     * Returns a permission without recording an outcome, e.g. for a 429 or an interrupted call.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits = Math.min(halfOpenPermits + 1, config.getPermittedCallsInHalfOpenState());
+        }
+    }
+
+    /**
+     * Returns the current state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the endpoint family this breaker guards.
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the failure rate over the current window in percent, or -1 if too few calls were recorded.
+     */
+    public synchronized float getFailureRate() {
+        return windowSize < config.getMinimumNumberOfCalls() ? -1 : failedCalls * 100f / windowSize;
+    }
+
+    /**
+     * Returns the slow-call rate over the current window in percent, or -1 if too few calls were recorded.
+     */
+    public synchronized float getSlowCallRate() {
+        return windowSize < config.getMinimumNumberOfCalls() ? -1 : slowCalls * 100f / windowSize;
+    }
+
+    private void record(boolean failed, long durationNanos) {
+        State from;
+        State to;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                // Late result of a call started before the circuit opened
+                return;
+            }
+            from = state;
+            byte outcome = (byte) ((failed ? FAILED : 0) | (durationNanos >= slowCallDurationNanos ? SLOW : 0));
+            if (windowSize == window.length) {
+                byte evicted = window[windowIndex];
+                failedCalls -= evicted & FAILED;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                windowSize++;
+            }
+            window[windowIndex] = outcome;
+            windowIndex = (windowIndex + 1) % window.length;
+            failedCalls += outcome & FAILED;
+            slowCalls += (outcome & SLOW) >> 1;
+
+            int required = state == State.HALF_OPEN
+                ? Math.min(config.getPermittedCallsInHalfOpenState(), window.length)
+                : config.getMinimumNumberOfCalls();
+            if (windowSize < required) {
+                return;
+            }
+            boolean unhealthy = failedCalls * 100 >= config.getFailureRateThreshold() * windowSize
+                || slowCalls * 100 >= config.getSlowCallRateThreshold() * windowSize;
+            if (unhealthy) {
+                transitionTo(State.OPEN);
+            } else if (state == State.HALF_OPEN) {
+                transitionTo(State.CLOSED);
+            } else {
+                return;
+            }
+            to = state;
+        }
+        notifyTransition(from, to);
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        windowSize = 0;
+        windowIndex = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = nanoTime.getAsLong();
+        } else if (next == State.HALF_OPEN) {
+            halfOpenPermits = config.getPermittedCallsInHalfOpenState();
+        }
+    }
+
+    private void notifyTransition(State from, State to) {
+        StateListener listener = config.getStateListener();
+        if (nonNull(listener) && from != to) {
+            listener.onStateTransition(endpoint, from, to);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package suprim.sepay.client;
+
+/**
+ * Configuration for the per-endpoint circuit breakers in {@link SePayHttpClient}.
+ *
+ * <p>The breaker tracks the outcome and duration of the last {@code slidingWindowSize} calls.
+ * Once at least {@code minimumNumberOfCalls} were recorded and either the failure rate or the
+ * slow-call rate reaches its threshold, the circuit opens and calls fail fast. After
+ * {@code waitDurationInOpenStateMs} it lets {@code permittedCallsInHalfOpenState} probe calls
+ * through and closes again only if they are healthy.
+ */
+public final class CircuitBreakerConfig {
+
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final int slowCallDurationMs;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final int waitDurationInOpenStateMs;
+    private final int permittedCallsInHalfOpenState;
+    private final CircuitBreaker.StateListener stateListener;
+
+    // Defaults
+    private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    private static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+    private static final int DEFAULT_SLOW_CALL_DURATION_MS = 5000;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    private static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    private static final int DEFAULT_WAIT_DURATION_IN_OPEN_STATE_MS = 30000;
+    private static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 3;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationMs = builder.slowCallDurationMs;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize);
+        this.waitDurationInOpenStateMs = builder.waitDurationInOpenStateMs;
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.stateListener = builder.stateListener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a configuration with all defaults.
+     */
+    public static CircuitBreakerConfig ofDefaults() {
+        return builder().build();
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public int getSlowCallDurationMs() {
+        return slowCallDurationMs;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public int getWaitDurationInOpenStateMs() {
+        return waitDurationInOpenStateMs;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    /**
+     * Returns the state transition listener, or null if none.
+     */
+    public CircuitBreaker.StateListener getStateListener() {
+        return stateListener;
+    }
+
+    public static final class Builder {
+        private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private int slowCallDurationMs = DEFAULT_SLOW_CALL_DURATION_MS;
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+        private int waitDurationInOpenStateMs = DEFAULT_WAIT_DURATION_IN_OPEN_STATE_MS;
+        private int permittedCallsInHalfOpenState = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+        private CircuitBreaker.StateListener stateListener;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the failure rate, in percent, at which the circuit opens.
+         */
+        public Builder failureRateThreshold(int percent) {
+            this.failureRateThreshold = requirePercent(percent, "failureRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the slow-call rate, in percent, at which the circuit opens.
+         */
+        public Builder slowCallRateThreshold(int percent) {
+            this.slowCallRateThreshold = requirePercent(percent, "slowCallRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the duration above which a call counts as slow.
+         */
+        public Builder slowCallDuration(int ms) {
+            this.slowCallDurationMs = requirePositive(ms, "slowCallDuration");
+            return this;
+        }
+
+        /**
+         * Sets how many of the most recent calls the rates are computed over.
+         */
+        public Builder slidingWindowSize(int calls) {
+            this.slidingWindowSize = requirePositive(calls, "slidingWindowSize");
+            return this;
+        }
+
+        /**
+         * Sets how many calls must be recorded before the rates are evaluated.
+         */
+        public Builder minimumNumberOfCalls(int calls) {
+            this.minimumNumberOfCalls = requirePositive(calls, "minimumNumberOfCalls");
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit stays open before letting probe calls through.
+         */
+        public Builder waitDurationInOpenState(int ms) {
+            this.waitDurationInOpenStateMs = requirePositive(ms, "waitDurationInOpenState");
+            return this;
+        }
+
+        /**
+         * Sets how many probe calls are allowed while half-open.
+         */
+        public Builder permittedCallsInHalfOpenState(int calls) {
+            this.permittedCallsInHalfOpenState = requirePositive(calls, "permittedCallsInHalfOpenState");
+            return this;
+        }
+
+        /**
+         * Sets a listener notified on every state transition, for monitoring.
+         */
+        public Builder onStateTransition(CircuitBreaker.StateListener listener) {
+            this.stateListener = listener;
+            return this;
+        }
+
+        private static int requirePercent(int value, String name) {
+            if (value <= 0 || value > 100) {
+                throw new IllegalArgumentException(name + " must be between 1 and 100");
+            }
+            return value;
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(this);
+        }
+    }
+}
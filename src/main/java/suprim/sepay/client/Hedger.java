@@ -0,0 +1,137 @@
+package suprim.sepay.client;
+
+import suprim.sepay.config.Endpoint;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a GET may be hedged: tracks recent latencies per endpoint and the hedge budget.
+ *
+ * <p>Every hedgeable request adds {@code maxHedgeRatio} to the budget and every hedge spends
+ * one; the budget is capped so a quiet period cannot save up a burst of hedges.
+ */
+public final class Hedger {
+
+    // Budget in millionths of a hedge, so deposits stay integral
+    private static final long HEDGE_COST = 1_000_000;
+    private static final long MAX_BALANCE = 10 * HEDGE_COST;
+
+    private final HedgingConfig config;
+    private final long deposit;
+    private final AtomicLong balance = new AtomicLong();
+    private final Map<Endpoint, LatencyWindow> latencies;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    Hedger(HedgingConfig config) {
+        this.config = config;
+        this.deposit = Math.round(config.getMaxHedgeRatio() * HEDGE_COST);
+        Map<Endpoint, LatencyWindow> windows = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            windows.put(endpoint, new LatencyWindow(config));
+        }
+        this.latencies = Collections.unmodifiableMap(windows);
+    }
+
+    /**
+     * Records the round trip time of a successful response.
+     */
+    void recordLatency(Endpoint endpoint, long nanos) {
+        latencies.get(endpoint).record(nanos);
+    }
+
+    /**
+     * Counts a hedgeable request and adds its share to the hedge budget.
+     */
+    void onRequest() {
+        requests.increment();
+        balance.accumulateAndGet(deposit, (current, add) -> Math.min(MAX_BALANCE, current + add));
+    }
+
+    /**
+     * Spends one hedge from the budget if available.
+     */
+    boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - HEDGE_COST));
+        hedges.increment();
+        return true;
+    }
+
+    /**
+     * Returns how long to wait before hedging a request to the endpoint, or -1 while too few
+     * latencies were recorded.
+     */
+    long hedgeDelayNanos(Endpoint endpoint) {
+        return latencies.get(endpoint).delayNanos;
+    }
+
+    /**
+     * Returns the current hedge delay for an endpoint in milliseconds, or -1 if it does not
+     * hedge yet.
+     */
+    public long getHedgeDelayMs(Endpoint endpoint) {
+        long nanos = hedgeDelayNanos(endpoint);
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Returns the number of hedgeable requests.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of hedges sent.
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    public HedgingConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Ring buffer of recent latencies. The percentile is recomputed every tenth of a window
+     * and published through a volatile field, so reading it never locks.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private final int percentile;
+        private final long minDelayNanos;
+        private final int recomputeEvery;
+        private long count;
+        private volatile long delayNanos = -1;
+
+        LatencyWindow(HedgingConfig config) {
+            this.samples = new long[config.getLatencyWindowSize()];
+            this.percentile = config.getDelayPercentile();
+            this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getMinDelayMs());
+            this.recomputeEvery = Math.max(1, samples.length / 10);
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (count % samples.length)] = nanos;
+            count++;
+            if (count >= HedgingConfig.MIN_SAMPLES && (count - HedgingConfig.MIN_SAMPLES) % recomputeEvery == 0) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+                delayNanos = Math.max(minDelayNanos, sorted[index]);
+            }
+        }
+    }
+}
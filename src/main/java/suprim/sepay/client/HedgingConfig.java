@@ -0,0 +1,118 @@
+package suprim.sepay.client;
+
+/**
+ * Configuration for hedged GET requests in {@link SePayHttpClient}.
+ *
+ * <p>When a GET has not completed after the {@code delayPercentile} latency of recent successful
+ * calls to the same endpoint, an identical second request is sent; the first success wins and
+ * the other is cancelled. Hedges are paid for from a budget that grows by
+ * {@code maxHedgeRatio} per GET, so they add at most that fraction of extra requests.
+ * No hedges are sent until {@value #MIN_SAMPLES} latencies were recorded for an endpoint.
+ */
+public final class HedgingConfig {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final int delayPercentile;
+    private final double maxHedgeRatio;
+    private final int minDelayMs;
+    private final int latencyWindowSize;
+
+    // Defaults
+    private static final int DEFAULT_DELAY_PERCENTILE = 95;
+    private static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+    private static final int DEFAULT_MIN_DELAY_MS = 10;
+    private static final int DEFAULT_LATENCY_WINDOW_SIZE = 200;
+
+    private HedgingConfig(Builder builder) {
+        this.delayPercentile = builder.delayPercentile;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.minDelayMs = builder.minDelayMs;
+        this.latencyWindowSize = builder.latencyWindowSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a configuration with all defaults.
+     */
+    public static HedgingConfig ofDefaults() {
+        return builder().build();
+    }
+
+    public int getDelayPercentile() {
+        return delayPercentile;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public int getMinDelayMs() {
+        return minDelayMs;
+    }
+
+    public int getLatencyWindowSize() {
+        return latencyWindowSize;
+    }
+
+    public static final class Builder {
+        private int delayPercentile = DEFAULT_DELAY_PERCENTILE;
+        private double maxHedgeRatio = DEFAULT_MAX_HEDGE_RATIO;
+        private int minDelayMs = DEFAULT_MIN_DELAY_MS;
+        private int latencyWindowSize = DEFAULT_LATENCY_WINDOW_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the latency percentile after which a hedge is sent (default: 95).
+         */
+        public Builder delayPercentile(int percentile) {
+            if (percentile < 50 || percentile > 99) {
+                throw new IllegalArgumentException("delayPercentile must be between 50 and 99");
+            }
+            this.delayPercentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the maximum fraction of extra requests hedging may add (default: 0.05).
+         */
+        public Builder maxHedgeRatio(double ratio) {
+            if (ratio <= 0 || ratio > 1) {
+                throw new IllegalArgumentException("maxHedgeRatio must be greater than 0 and at most 1");
+            }
+            this.maxHedgeRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets the shortest delay before a hedge, however fast recent calls were (default: 10ms).
+         */
+        public Builder minDelay(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("minDelay cannot be negative");
+            }
+            this.minDelayMs = ms;
+            return this;
+        }
+
+        /**
+         * Sets how many recent latencies per endpoint the percentile is computed over (default: 200).
+         */
+        public Builder latencyWindowSize(int samples) {
+            if (samples < MIN_SAMPLES) {
+                throw new IllegalArgumentException("latencyWindowSize must be at least " + MIN_SAMPLES);
+            }
+            this.latencyWindowSize = samples;
+            return this;
+        }
+
+        public HedgingConfig build() {
+            return new HedgingConfig(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package suprim.sepay.client;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The default {@link SePayTransport}, sending requests with {@link HttpClient} and reading
+ * each body into a byte array.
+ */
+public final class JdkHttpTransport implements SePayTransport {
+
+    private final HttpClient httpClient;
+
+    public JdkHttpTransport(HttpClient httpClient) {
+        if (isNull(httpClient)) {
+            throw new IllegalArgumentException("httpClient cannot be null");
+        }
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public TransportResponse send(HttpRequest request) throws IOException, InterruptedException {
+        return TransportResponse.of(httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> sent =
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<TransportResponse> response = sent.thenApply(TransportResponse::of);
+        response.whenComplete((value, error) -> {
+            if (response.isCancelled()) {
+                // Java 16+ aborts the exchange; earlier versions only stop waiting for it
+                sent.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+}
@@ -0,0 +1,95 @@
+package suprim.sepay.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * JSON binding for SePay requests and responses.
+ *
+ * <p>Keeps one {@link ObjectReader} per response type and one {@link ObjectWriter} per request
+ * type, so each call only parses or writes instead of looking up (de)serializers first.
+ * Readers and writers are immutable and snapshot the mapper's configuration when first used.
+ */
+final class JsonCodec {
+
+    private static final String[] ACCELERATOR_MODULES = {
+        "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+        "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
+
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    JsonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    <T> T read(byte[] json, Class<T> type) throws IOException {
+        return readers.computeIfAbsent(type, mapper::readerFor).readValue(json);
+    }
+
+    /**
+     * Writes a value as UTF-8 JSON. Jackson encodes into its recycled buffers, so the only copy
+     * made is the returned array.
+     */
+    byte[] write(Object value) throws JsonProcessingException {
+        if (isNull(value)) {
+            return mapper.writeValueAsBytes(null);
+        }
+        return writers.computeIfAbsent(value.getClass(), mapper::writerFor).writeValueAsBytes(value);
+    }
+
+    /**
+     * Returns the mapper shared by all clients created without one of their own.
+     */
+    static ObjectMapper sharedMapper() {
+        return SharedMapperHolder.MAPPER;
+    }
+
+    /**
+     * Creates a mapper for the SePay API: Java time support with ISO-8601 dates, unknown
+     * properties ignored, and Blackbird or Afterburner registered if either is on the classpath.
+     */
+    static ObjectMapper newMapper(boolean accelerate) {
+        ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (accelerate) {
+            Module accelerator = acceleratorModule();
+            if (nonNull(accelerator)) {
+                mapper.registerModule(accelerator);
+            }
+        }
+        return mapper;
+    }
+
+    private static Module acceleratorModule() {
+        for (String className : ACCELERATOR_MODULES) {
+            try {
+                return (Module) Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not on the classpath or not usable here - try the next one
+            }
+        }
+        return null;
+    }
+
+    private static final class SharedMapperHolder {
+        private static final ObjectMapper MAPPER = newMapper(true);
+    }
+}
@@ -0,0 +1,171 @@
+package suprim.sepay.client;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Concurrency permits with a FIFO wait queue, shared by {@link Bulkhead} and
+ * {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Callers that find all permits taken wait in one queue, whether they block
+ * ({@link #tryAcquire(long, TimeUnit)}) or not ({@link #acquireAsync()}), so sync and async
+ * callers are served in arrival order. A released permit is handed straight to the
+ * longest-waiting caller unless the limit has since been lowered.
+ */
+class PermitQueue {
+
+    private final Object lock = new Object();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int limit;
+    private int activeCalls;
+
+    PermitQueue(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Takes a permit if one is free and nobody is queued ahead.
+     */
+    public boolean tryAcquire() {
+        synchronized (lock) {
+            if (activeCalls < limit && waiters.isEmpty()) {
+                activeCalls++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Takes a permit, waiting up to the given timeout for one to be released.
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<Void> waiter = acquireAsync();
+        if (waiter.isDone()) {
+            return true;
+        }
+        try {
+            waiter.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return !abandon(waiter);
+        } catch (InterruptedException e) {
+            if (!abandon(waiter)) {
+                release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // Waiters are only ever completed normally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Requests a permit without blocking. The returned future completes once the permit is
+     * held; it is already complete if a permit was free.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        synchronized (lock) {
+            if (activeCalls < limit && waiters.isEmpty()) {
+                activeCalls++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Gives up a pending {@link #acquireAsync()} request.
+     *
+     * @return true if the request was withdrawn, false if the permit had already been
+     *         granted and must be released by the caller
+     */
+    public boolean abandon(CompletableFuture<Void> waiter) {
+        if (!waiter.cancel(false)) {
+            return false;
+        }
+        synchronized (lock) {
+            waiters.remove(waiter);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a permit, handing it to the longest-waiting caller if there is one.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (lock) {
+                next = activeCalls <= limit ? waiters.poll() : null;
+                if (isNull(next)) {
+                    activeCalls--;
+                    return;
+                }
+            }
+            // Complete outside the lock; a waiter abandoned in the meantime is skipped
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Changes the limit. Raising it admits queued callers right away; lowering it takes
+     * effect as in-flight calls complete.
+     */
+    void setLimit(int newLimit) {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (lock) {
+                limit = newLimit;
+                next = activeCalls < limit ? waiters.poll() : null;
+                if (isNull(next)) {
+                    return;
+                }
+                activeCalls++;
+            }
+            if (!next.complete(null)) {
+                synchronized (lock) {
+                    activeCalls--;
+                }
+            }
+        }
+    }
+
+    int limit() {
+        synchronized (lock) {
+            return limit;
+        }
+    }
+
+    /**
+     * Returns the number of permits currently held.
+     */
+    public int getActiveCalls() {
+        synchronized (lock) {
+            return activeCalls;
+        }
+    }
+
+    /**
+     * Returns the number of callers waiting for a permit.
+     */
+    public int getQueuedCalls() {
+        synchronized (lock) {
+            return waiters.size();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package suprim.sepay.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits retries across all calls of a client to a share of its recent calls.
+ *
+ * <p>Calls and retries are counted per second in lock-free ring buffers covering the
+ * configured window. Concurrent retries may overshoot the budget by a few, never by more
+ * than the number of threads retrying at once.
+ */
+public final class RetryBudget {
+
+    private final RetryBudgetConfig config;
+    private final LongSupplier nanoTime;
+    private final long originNanos;
+    private final long reserve;
+    private final SlidingCounter calls;
+    private final SlidingCounter retries;
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    RetryBudget(RetryBudgetConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    // For testing - allows a controllable clock
+    RetryBudget(RetryBudgetConfig config, LongSupplier nanoTime) {
+        this.config = config;
+        this.nanoTime = nanoTime;
+        this.originNanos = nanoTime.getAsLong();
+        this.reserve = (long) config.getMinRetriesPerSecond() * config.getWindowSeconds();
+        this.calls = new SlidingCounter(config.getWindowSeconds());
+        this.retries = new SlidingCounter(config.getWindowSeconds());
+    }
+
+    /**
+     * Counts a call, adding its share to the budget.
+     */
+    void onCall() {
+        calls.increment(currentSecond());
+    }
+
+    /**
+     * Spends one retry if the budget allows it.
+     */
+    boolean tryAcquireRetry() {
+        long second = currentSecond();
+        long allowed = (long) (config.getRetryRatio() * calls.sum(second)) + reserve;
+        if (retries.sum(second) >= allowed) {
+            rejectedCount.increment();
+            return false;
+        }
+        retries.increment(second);
+        retryCount.increment();
+        return true;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoTime.getAsLong() - originNanos);
+    }
+
+    /**
+     * Returns the number of retries the budget allowed.
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * Returns the number of retries refused because the budget was spent.
+     */
+    public long getRejectedRetryCount() {
+        return rejectedCount.sum();
+    }
+
+    public RetryBudgetConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Per-second counts over a window. Each slot packs the second it counts (high 32 bits)
+     * with its count (low 32 bits), so a slot is reused for a new second in the same
+     * compare-and-set that counts the first event.
+     */
+    private static final class SlidingCounter {
+        private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+        private final AtomicLongArray slots;
+
+        SlidingCounter(int seconds) {
+            this.slots = new AtomicLongArray(seconds);
+        }
+
+        void increment(long second) {
+            int index = (int) (second % slots.length());
+            long current;
+            long next;
+            do {
+                current = slots.get(index);
+                next = (current >>> 32) == second ? current + 1 : (second << 32) | 1;
+            } while (!slots.compareAndSet(index, current, next));
+        }
+
+        long sum(long second) {
+            long total = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                long slot = slots.get(i);
+                if (second - (slot >>> 32) < slots.length()) {
+                    total += slot & COUNT_MASK;
+                }
+            }
+            return total;
+        }
+    }
+}
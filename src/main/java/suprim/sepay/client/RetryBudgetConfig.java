@@ -0,0 +1,96 @@
+package suprim.sepay.client;
+
+/**
+ * Configuration for the client-wide retry budget of {@link SePayHttpClient}.
+ *
+ * <p>Over the last {@code windowSeconds}, retries may add at most {@code retryRatio} of the
+ * calls made, plus {@code minRetriesPerSecond} so a quiet client can still retry. During an
+ * outage the budget runs out and failing calls return their error instead of multiplying
+ * traffic by {@code maxRetries + 1}. {@code maxRetries} still caps the retries of each call.
+ */
+public final class RetryBudgetConfig {
+
+    private final double retryRatio;
+    private final int minRetriesPerSecond;
+    private final int windowSeconds;
+
+    // Defaults
+    private static final double DEFAULT_RETRY_RATIO = 0.1;
+    private static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+    private static final int DEFAULT_WINDOW_SECONDS = 10;
+
+    private RetryBudgetConfig(Builder builder) {
+        this.retryRatio = builder.retryRatio;
+        this.minRetriesPerSecond = builder.minRetriesPerSecond;
+        this.windowSeconds = builder.windowSeconds;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a configuration with all defaults.
+     */
+    public static RetryBudgetConfig ofDefaults() {
+        return builder().build();
+    }
+
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public static final class Builder {
+        private double retryRatio = DEFAULT_RETRY_RATIO;
+        private int minRetriesPerSecond = DEFAULT_MIN_RETRIES_PER_SECOND;
+        private int windowSeconds = DEFAULT_WINDOW_SECONDS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the fraction of recent calls that may be retried (default: 0.1).
+         */
+        public Builder retryRatio(double ratio) {
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("retryRatio must be between 0 and 1");
+            }
+            this.retryRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets the retries per second allowed however few calls were made (default: 10).
+         */
+        public Builder minRetriesPerSecond(int retries) {
+            if (retries < 0) {
+                throw new IllegalArgumentException("minRetriesPerSecond cannot be negative");
+            }
+            this.minRetriesPerSecond = retries;
+            return this;
+        }
+
+        /**
+         * Sets how many seconds of recent calls and retries the budget covers (default: 10).
+         */
+        public Builder window(int seconds) {
+            if (seconds < 1 || seconds > 300) {
+                throw new IllegalArgumentException("window must be between 1 and 300 seconds");
+            }
+            this.windowSeconds = seconds;
+            return this;
+        }
+
+        public RetryBudgetConfig build() {
+            return new RetryBudgetConfig(this);
+        }
+    }
+}
@@ -93,7 +93,7 @@ public class SePayClient {
      */
     public synchronized OrderResource orders() {
         if (isNull(orderResource)) {
-            orderResource = new OrderResource(httpClient, config.getEnvironment());
+            orderResource = new OrderResource(httpClient, config.getEnvironment(), config.getOrderCache());
         }
         return orderResource;
     }
@@ -108,6 +108,28 @@ public class SePayClient {
                 .environment(config.getEnvironment());
     }
 
+    /**
+     * Connects to the SePay API ahead of the first request, e.g. at application startup, so
+     * that request does not pay for DNS, TCP and TLS setup.
+     *
+     * @return true if the API host responded
+     */
+    public boolean warmUp() {
+        return warmUp(false);
+    }
+
+    /**
+     * Connects to the SePay API and, if requested, the checkout host ahead of the first request.
+     *
+     * @param includeCheckout whether to also connect to the checkout host
+     * @return true if every host responded
+     */
+    public boolean warmUp(boolean includeCheckout) {
+        return includeCheckout
+            ? httpClient.warmUp(config.getApiBaseUrl(), config.getCheckoutBaseUrl())
+            : httpClient.warmUp(config.getApiBaseUrl());
+    }
+
     /**
      * Returns the merchant ID.
      */
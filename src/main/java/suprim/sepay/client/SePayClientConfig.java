@@ -1,10 +1,17 @@
 package suprim.sepay.client;
 
+import suprim.sepay.config.Endpoint;
 import suprim.sepay.config.Environment;
 import suprim.sepay.config.UrlConfig;
+import suprim.sepay.order.OrderCache;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -27,6 +34,24 @@ public final class SePayClientConfig {
     private final boolean debugMode;
     private final String customApiBaseUrl;
     private final String customCheckoutBaseUrl;
+    private final Executor executor;
+    private final boolean virtualThreads;
+    private final SePayTransportRegistry transportRegistry;
+    private final SePayTransport transport;
+    private final HttpClient.Version httpVersion;
+    private final double rateLimitPerSecond;
+    private final Integer rateLimitBurst;
+    private final int rateLimitTimeoutMs;
+    private final BackoffPolicy backoffPolicy;
+    private final int maxRetryDelayMs;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final HedgingConfig hedgingConfig;
+    private final RetryBudgetConfig retryBudgetConfig;
+    private final Map<Endpoint, Integer> maxConcurrentCalls;
+    private final int bulkheadTimeoutMs;
+    private final int adaptiveConcurrencyInitialLimit;
+    private final int adaptiveConcurrencyMaxLimit;
+    private final OrderCache orderCache;
 
     // Defaults
     private static final Environment DEFAULT_ENVIRONMENT = Environment.SANDBOX;
@@ -35,6 +60,11 @@ public final class SePayClientConfig {
     private static final int DEFAULT_MAX_RETRIES = 3;
     private static final int DEFAULT_RETRY_DELAY_MS = 1000;
     private static final boolean DEFAULT_DEBUG_MODE = false;
+    private static final boolean DEFAULT_VIRTUAL_THREADS = false;
+    private static final int DEFAULT_RATE_LIMIT_TIMEOUT_MS = 5000;
+    private static final int DEFAULT_MAX_RETRY_DELAY_MS = 30000;
+    private static final int DEFAULT_BULKHEAD_TIMEOUT_MS = 5000;
+    private static final HttpClient.Version DEFAULT_HTTP_VERSION = HttpClient.Version.HTTP_2;
 
     private SePayClientConfig(Builder builder) {
         this.merchantId = builder.merchantId;
@@ -47,6 +77,25 @@ public final class SePayClientConfig {
         this.debugMode = builder.debugMode;
         this.customApiBaseUrl = builder.customApiBaseUrl;
         this.customCheckoutBaseUrl = builder.customCheckoutBaseUrl;
+        this.executor = builder.executor;
+        this.virtualThreads = builder.virtualThreads;
+        this.transportRegistry = builder.transportRegistry;
+        this.transport = builder.transport;
+        this.httpVersion = builder.httpVersion;
+        this.rateLimitPerSecond = builder.rateLimitPerSecond;
+        this.rateLimitBurst = builder.rateLimitBurst;
+        this.rateLimitTimeoutMs = builder.rateLimitTimeoutMs;
+        this.maxRetryDelayMs = builder.maxRetryDelayMs;
+        this.circuitBreakerConfig = builder.circuitBreakerConfig;
+        this.hedgingConfig = builder.hedgingConfig;
+        this.retryBudgetConfig = builder.retryBudgetConfig;
+        this.maxConcurrentCalls = Collections.unmodifiableMap(new EnumMap<>(builder.maxConcurrentCalls));
+        this.bulkheadTimeoutMs = builder.bulkheadTimeoutMs;
+        this.adaptiveConcurrencyInitialLimit = builder.adaptiveConcurrencyInitialLimit;
+        this.adaptiveConcurrencyMaxLimit = builder.adaptiveConcurrencyMaxLimit;
+        this.orderCache = builder.orderCache;
+        this.backoffPolicy = nonNull(builder.backoffPolicy) ? builder.backoffPolicy
+            : BackoffPolicy.fullJitter(retryDelayMs, maxRetryDelayMs);
     }
 
     public static Builder builder(String merchantId, String secretKey) {
@@ -85,6 +134,135 @@ public final class SePayClientConfig {
         return debugMode;
     }
 
+    /**
+     * Returns the executor for HTTP I/O and async callbacks, or null to use the HttpClient default.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns whether virtual threads were requested for HTTP I/O and async callbacks.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the registry supplying a shared HttpClient, or null if this client owns its own.
+     */
+    public SePayTransportRegistry getTransportRegistry() {
+        return transportRegistry;
+    }
+
+    /**
+     * Returns the custom transport, or null if requests are sent with the JDK's HttpClient.
+     */
+    public SePayTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Returns the preferred HTTP version; HTTP/2 falls back to HTTP/1.1 if the server lacks it.
+     */
+    public HttpClient.Version getHttpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * Returns the client-side rate limit in requests per second, or 0 if disabled.
+     */
+    public double getRateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+
+    /**
+     * Returns how many requests may be sent back to back; defaults to one second's worth.
+     */
+    public int getRateLimitBurst() {
+        return nonNull(rateLimitBurst) ? rateLimitBurst : Math.max(1, (int) Math.ceil(rateLimitPerSecond));
+    }
+
+    /**
+     * Returns how long a request may wait for a rate limit permit; 0 means fail fast.
+     */
+    public int getRateLimitTimeoutMs() {
+        return rateLimitTimeoutMs;
+    }
+
+    /**
+     * Returns the retry backoff policy. Defaults to exponential backoff with full jitter,
+     * based on {@link #getRetryDelayMs()} and capped at {@link #getMaxRetryDelayMs()}.
+     */
+    public BackoffPolicy getBackoffPolicy() {
+        return backoffPolicy;
+    }
+
+    /**
+     * Returns the longest delay the client will wait before a retry, including delays
+     * requested by a {@code Retry-After} header.
+     */
+    public int getMaxRetryDelayMs() {
+        return maxRetryDelayMs;
+    }
+
+    /**
+     * Returns the per-endpoint circuit breaker configuration, or null if circuit breaking is disabled.
+     */
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+    /**
+     * Returns the hedging settings for GET requests, or null if hedging is disabled.
+     */
+    public HedgingConfig getHedgingConfig() {
+        return hedgingConfig;
+    }
+
+    /**
+     * Returns the client-wide retry budget settings, or null if only {@code maxRetries} limits retries.
+     */
+    public RetryBudgetConfig getRetryBudgetConfig() {
+        return retryBudgetConfig;
+    }
+
+    /**
+     * Returns the concurrency limit per endpoint family; endpoints without an entry are unbounded.
+     */
+    public Map<Endpoint, Integer> getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Returns how long a request may wait for a free slot under its endpoint's concurrency
+     * limit or the adaptive concurrency limit; 0 means fail fast.
+     */
+    public int getBulkheadTimeoutMs() {
+        return bulkheadTimeoutMs;
+    }
+
+    /**
+     * Returns the starting adaptive limit on in-flight requests.
+     */
+    public int getAdaptiveConcurrencyInitialLimit() {
+        return adaptiveConcurrencyInitialLimit;
+    }
+
+    /**
+     * Returns the ceiling of the adaptive limit on in-flight requests; 0 means disabled.
+     */
+    public int getAdaptiveConcurrencyMaxLimit() {
+        return adaptiveConcurrencyMaxLimit;
+    }
+
+    /**
+     * Returns the cache used by {@code orders().retrieve}, or null if orders are not cached.
+     */
+    public OrderCache getOrderCache() {
+        return orderCache;
+    }
+
     /**
      * Returns the API base URL. Uses custom URL if set, otherwise environment default.
      */
@@ -114,7 +292,20 @@ public final class SePayClientConfig {
                 ", readTimeoutMs=" + readTimeoutMs +
                 ", maxRetries=" + maxRetries +
                 ", retryDelayMs=" + retryDelayMs +
+                ", maxRetryDelayMs=" + maxRetryDelayMs +
                 ", debugMode=" + debugMode +
+                (nonNull(executor) ? ", executor=" + executor.getClass().getSimpleName() : "") +
+                (virtualThreads ? ", virtualThreads=true" : "") +
+                (nonNull(transportRegistry) ? ", sharedTransport=true" : "") +
+                (nonNull(transport) ? ", transport=" + transport.getClass().getSimpleName() : "") +
+                ", httpVersion=" + httpVersion +
+                (rateLimitPerSecond > 0 ? ", rateLimitPerSecond=" + rateLimitPerSecond : "") +
+                (nonNull(circuitBreakerConfig) ? ", circuitBreaker=true" : "") +
+                (nonNull(hedgingConfig) ? ", hedging=true" : "") +
+                (nonNull(retryBudgetConfig) ? ", retryBudget=true" : "") +
+                (!maxConcurrentCalls.isEmpty() ? ", maxConcurrentCalls=" + maxConcurrentCalls : "") +
+                (adaptiveConcurrencyMaxLimit > 0 ? ", adaptiveConcurrencyMaxLimit=" + adaptiveConcurrencyMaxLimit : "") +
+                (nonNull(orderCache) ? ", orderCache=true" : "") +
                 (nonNull(customApiBaseUrl) ? ", customApiBaseUrl=" + customApiBaseUrl : "") +
                 (nonNull(customCheckoutBaseUrl) ? ", customCheckoutBaseUrl=" + customCheckoutBaseUrl : "") +
                 '}';
@@ -131,6 +322,24 @@ public final class SePayClientConfig {
         private boolean debugMode = DEFAULT_DEBUG_MODE;
         private String customApiBaseUrl;
         private String customCheckoutBaseUrl;
+        private Executor executor;
+        private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
+        private SePayTransportRegistry transportRegistry;
+        private SePayTransport transport;
+        private HttpClient.Version httpVersion = DEFAULT_HTTP_VERSION;
+        private double rateLimitPerSecond;
+        private Integer rateLimitBurst;
+        private int rateLimitTimeoutMs = DEFAULT_RATE_LIMIT_TIMEOUT_MS;
+        private BackoffPolicy backoffPolicy;
+        private int maxRetryDelayMs = DEFAULT_MAX_RETRY_DELAY_MS;
+        private CircuitBreakerConfig circuitBreakerConfig;
+        private HedgingConfig hedgingConfig;
+        private RetryBudgetConfig retryBudgetConfig;
+        private final Map<Endpoint, Integer> maxConcurrentCalls = new EnumMap<>(Endpoint.class);
+        private int bulkheadTimeoutMs = DEFAULT_BULKHEAD_TIMEOUT_MS;
+        private int adaptiveConcurrencyInitialLimit;
+        private int adaptiveConcurrencyMaxLimit;
+        private OrderCache orderCache;
 
         private Builder(String merchantId, String secretKey) {
             if (isNull(merchantId) || merchantId.trim().isEmpty()) {
@@ -183,6 +392,31 @@ public final class SePayClientConfig {
             return this;
         }
 
+        /**
+         * Sets the retry backoff policy (default: full jitter from {@code retryDelay}).
+         *
+         * @param policy the policy, e.g. {@link BackoffPolicy#decorrelatedJitter(long, long)}
+         */
+        public Builder backoffPolicy(BackoffPolicy policy) {
+            if (isNull(policy)) {
+                throw new IllegalArgumentException("backoffPolicy cannot be null");
+            }
+            this.backoffPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Sets the longest delay before a retry. A {@code Retry-After} longer than this
+         * fails the call instead of waiting.
+         */
+        public Builder maxRetryDelay(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("maxRetryDelay cannot be negative");
+            }
+            this.maxRetryDelayMs = ms;
+            return this;
+        }
+
         /**
          * Enables or disables debug mode for detailed logging.
          */
@@ -218,6 +452,210 @@ public final class SePayClientConfig {
             return this;
         }
 
+        /**
+         * Sets the executor used by the HTTP client and for async callbacks and retries.
+         * Takes precedence over {@link #virtualThreads(boolean)}. The caller owns its lifecycle.
+         *
+         * @param executor the executor to use
+         */
+        public Builder executor(Executor executor) {
+            if (isNull(executor)) {
+                throw new IllegalArgumentException("executor cannot be null");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Runs HTTP I/O and async callbacks on virtual threads when the JVM supports them (Java 21+).
+         * On older JVMs the HttpClient default executor is used.
+         */
+        public Builder virtualThreads(boolean enabled) {
+            this.virtualThreads = enabled;
+            return this;
+        }
+
+        /**
+         * Shares the underlying HttpClient (connection pool, selector thread, TLS sessions) with
+         * every other client configured with the same registry and transport settings.
+         * Credentials and all other settings remain per client.
+         *
+         * @param registry the registry, e.g. {@link SePayTransportRegistry#shared()}
+         */
+        public Builder transportRegistry(SePayTransportRegistry registry) {
+            if (isNull(registry)) {
+                throw new IllegalArgumentException("transportRegistry cannot be null");
+            }
+            this.transportRegistry = registry;
+            return this;
+        }
+
+        boolean hasTransportRegistry() {
+            return nonNull(transportRegistry);
+        }
+
+        /**
+         * Sends requests through a custom transport instead of the JDK's HttpClient, e.g.
+         * {@link suprim.sepay.stub.StubSePayServer} for offline tests. Connection settings such
+         * as the connect timeout, HTTP version and transport registry then do not apply.
+         */
+        public Builder transport(SePayTransport transport) {
+            if (isNull(transport)) {
+                throw new IllegalArgumentException("transport cannot be null");
+            }
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the preferred HTTP version (default: HTTP/2). Over HTTP/2 all concurrent calls to
+         * a host share one multiplexed connection; use HTTP/1.1 if a proxy mishandles HTTP/2.
+         */
+        public Builder httpVersion(HttpClient.Version httpVersion) {
+            if (isNull(httpVersion)) {
+                throw new IllegalArgumentException("httpVersion cannot be null");
+            }
+            this.httpVersion = httpVersion;
+            return this;
+        }
+
+        /**
+         * Enables a client-side token bucket limiting requests to this rate.
+         * The rate backs off automatically when SePay responds with 429.
+         *
+         * @param permitsPerSecond maximum sustained requests per second
+         */
+        public Builder rateLimit(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException("rateLimit must be positive");
+            }
+            this.rateLimitPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how many requests may be sent back to back (default: one second's worth).
+         */
+        public Builder rateLimitBurst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("rateLimitBurst must be positive");
+            }
+            this.rateLimitBurst = burst;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a rate limit permit before failing with
+         * {@link suprim.sepay.exception.SePayRateLimitException}. Use 0 to fail fast.
+         */
+        public Builder rateLimitTimeout(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("rateLimitTimeout cannot be negative");
+            }
+            this.rateLimitTimeoutMs = ms;
+            return this;
+        }
+
+        /**
+         * Enables a circuit breaker per endpoint family, failing fast while SePay is degraded.
+         *
+         * @param circuitBreakerConfig the breaker settings, e.g. {@link CircuitBreakerConfig#ofDefaults()}
+         */
+        public Builder circuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+            if (isNull(circuitBreakerConfig)) {
+                throw new IllegalArgumentException("circuitBreakerConfig cannot be null");
+            }
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            return this;
+        }
+
+        /**
+         * Hedges slow GET requests: sends a second identical request once one is slower than
+         * recent calls, within a budget of extra requests. Affects only GETs, which are idempotent.
+         *
+         * @param hedgingConfig the hedging settings, e.g. {@link HedgingConfig#ofDefaults()}
+         */
+        public Builder hedging(HedgingConfig hedgingConfig) {
+            if (isNull(hedgingConfig)) {
+                throw new IllegalArgumentException("hedgingConfig cannot be null");
+            }
+            this.hedgingConfig = hedgingConfig;
+            return this;
+        }
+
+        /**
+         * Caps retries across all calls of the client at a share of its recent calls, so an
+         * outage does not multiply the traffic sent to SePay.
+         *
+         * @param retryBudgetConfig the budget settings, e.g. {@link RetryBudgetConfig#ofDefaults()}
+         */
+        public Builder retryBudget(RetryBudgetConfig retryBudgetConfig) {
+            if (isNull(retryBudgetConfig)) {
+                throw new IllegalArgumentException("retryBudgetConfig cannot be null");
+            }
+            this.retryBudgetConfig = retryBudgetConfig;
+            return this;
+        }
+
+        /**
+         * Limits how many requests to one endpoint family may be in flight at once, so slow
+         * calls such as order listing cannot starve others such as order lookups.
+         */
+        public Builder maxConcurrentCalls(Endpoint endpoint, int maxCalls) {
+            if (isNull(endpoint)) {
+                throw new IllegalArgumentException("endpoint cannot be null");
+            }
+            if (maxCalls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+            }
+            this.maxConcurrentCalls.put(endpoint, maxCalls);
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a free slot under its endpoint's concurrency limit
+         * before failing with {@link suprim.sepay.exception.SePayBulkheadFullException}.
+         * Use 0 to fail fast.
+         */
+        public Builder bulkheadTimeout(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("bulkheadTimeout cannot be negative");
+            }
+            this.bulkheadTimeoutMs = ms;
+            return this;
+        }
+
+        /**
+         * Enables a client-wide limit on in-flight requests that adapts to observed latency and
+         * errors, starting at {@code initialLimit} and never exceeding {@code maxLimit}.
+         * Retries count against the limit.
+         */
+        public Builder adaptiveConcurrency(int initialLimit, int maxLimit) {
+            if (initialLimit <= 0) {
+                throw new IllegalArgumentException("initialLimit must be positive");
+            }
+            if (maxLimit < initialLimit) {
+                throw new IllegalArgumentException("maxLimit must not be less than initialLimit");
+            }
+            this.adaptiveConcurrencyInitialLimit = initialLimit;
+            this.adaptiveConcurrencyMaxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Caches retrieved orders, keeping terminal ones long and pending ones briefly.
+         * A cache may be shared by several clients of the same merchant.
+         *
+         * @param orderCache the cache, e.g. {@code OrderCache.builder().build()}
+         */
+        public Builder orderCache(OrderCache orderCache) {
+            if (isNull(orderCache)) {
+                throw new IllegalArgumentException("orderCache cannot be null");
+            }
+            this.orderCache = orderCache;
+            return this;
+        }
+
         private void validateUrl(String url) {
             try {
                 new URL(url);
@@ -0,0 +1,272 @@
+package suprim.sepay.client;
+
+import suprim.sepay.exception.SePayException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Holds {@link SePayClient} instances for many merchants with bounded memory.
+ *
+ * <p>Clients are created lazily on first use from a credential supplier and evicted when idle
+ * longer than the idle timeout, or least-recently-used first once {@code maxSize} is reached.
+ * Idle clients are swept on every lookup, not only when a new client is added.
+ * Every client built by the registry shares one HttpClient through a
+ * {@link SePayTransportRegistry}, so a client costs little more than its config and
+ * lazily created resources. Concurrent first calls for the same merchant share one
+ * supplier call and one client.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SePayClientRegistry registry = SePayClientRegistry.builder(merchantId -> {
+ *         Credentials c = vault.lookup(merchantId);
+ *         return SePayClient.builder(merchantId, c.secretKey()).environment(Environment.PRODUCTION);
+ *     })
+ *     .maxSize(5000)
+ *     .idleTimeout(30 * 60 * 1000)
+ *     .build();
+ *
+ * Order order = registry.get("MERCHANT_42").orders().retrieve("ord_123");
+ * }</pre>
+ */
+public final class SePayClientRegistry {
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static final int DEFAULT_IDLE_TIMEOUT_MS = 30 * 60 * 1000;
+
+    private final Function<String, SePayClientConfig.Builder> configSupplier;
+    private final SePayTransportRegistry transportRegistry;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoTime;
+
+    // Access-ordered: eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> clients = new LinkedHashMap<>(16, 0.75f, true);
+    // Clients being built, so concurrent misses for a merchant wait for one build
+    private final Map<String, CompletableFuture<SePayClient>> pending = new ConcurrentHashMap<>();
+
+    private SePayClientRegistry(Builder builder, LongSupplier nanoTime) {
+        this.configSupplier = builder.configSupplier;
+        this.transportRegistry = builder.transportRegistry;
+        this.maxSize = builder.maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(builder.idleTimeoutMs);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Creates a registry builder.
+     *
+     * @param configSupplier returns a config builder with credentials for a merchant ID,
+     *                       or null if the merchant is unknown
+     * @return registry builder
+     */
+    public static Builder builder(Function<String, SePayClientConfig.Builder> configSupplier) {
+        return new Builder(configSupplier);
+    }
+
+    /**
+     * Returns the client for a merchant, creating it if absent or expired.
+     *
+     * @param merchantId the merchant ID
+     * @return the client
+     * @throws SePayException if the supplier has no credentials for the merchant
+     */
+    public SePayClient get(String merchantId) {
+        if (isNull(merchantId) || merchantId.isEmpty()) {
+            throw new IllegalArgumentException("merchantId cannot be null or empty");
+        }
+        synchronized (clients) {
+            Entry entry = clients.get(merchantId);
+            long now = nanoTime.getAsLong();
+            if (nonNull(entry) && !isExpired(entry, now)) {
+                entry.lastAccessNanos = now;
+                evict(now);
+                return entry.client;
+            }
+        }
+
+        CompletableFuture<SePayClient> build = new CompletableFuture<>();
+        CompletableFuture<SePayClient> existing = pending.putIfAbsent(merchantId, build);
+        if (nonNull(existing)) {
+            return await(existing);
+        }
+        try {
+            // Build outside the lock: the supplier may call a secrets store
+            SePayClient created = createClient(merchantId);
+            SePayClient client;
+            synchronized (clients) {
+                long now = nanoTime.getAsLong();
+                Entry entry = clients.get(merchantId);
+                if (isNull(entry) || isExpired(entry, now)) {
+                    entry = new Entry(created, now);
+                    clients.put(merchantId, entry);
+                    evict(now);
+                } else {
+                    entry.lastAccessNanos = now;
+                }
+                client = entry.client;
+            }
+            build.complete(client);
+            return client;
+        } catch (Throwable e) {
+            // Any failure, Errors included, must release the callers waiting on this build
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(merchantId, build);
+        }
+    }
+
+    /**
+     * Removes the client for a merchant, e.g. after its credentials are rotated.
+     *
+     * @param merchantId the merchant ID
+     */
+    public void invalidate(String merchantId) {
+        synchronized (clients) {
+            clients.remove(merchantId);
+        }
+    }
+
+    /**
+     * Removes all clients.
+     */
+    public void invalidateAll() {
+        synchronized (clients) {
+            clients.clear();
+        }
+    }
+
+    /**
+     * Returns the number of clients currently held, including idle ones not yet evicted.
+     */
+    public int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    private SePayClient createClient(String merchantId) {
+        SePayClientConfig.Builder configBuilder = configSupplier.apply(merchantId);
+        if (isNull(configBuilder)) {
+            throw new SePayException("No credentials for merchant: " + merchantId);
+        }
+        if (!configBuilder.hasTransportRegistry()) {
+            configBuilder.transportRegistry(transportRegistry);
+        }
+        return SePayClient.create(configBuilder.build());
+    }
+
+    private static SePayClient await(CompletableFuture<SePayClient> build) {
+        try {
+            return build.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SePayException("Interrupted while waiting for a client", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.lastAccessNanos >= idleTimeoutNanos;
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> it = clients.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            if (clients.size() > maxSize || isExpired(eldest, now)) {
+                it.remove();
+            } else {
+                // Access order: everything after a live entry is newer
+                break;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final SePayClient client;
+        private long lastAccessNanos;
+
+        Entry(SePayClient client, long lastAccessNanos) {
+            this.client = client;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    public static final class Builder {
+        private final Function<String, SePayClientConfig.Builder> configSupplier;
+        private SePayTransportRegistry transportRegistry = SePayTransportRegistry.shared();
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private int idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+
+        private Builder(Function<String, SePayClientConfig.Builder> configSupplier) {
+            if (isNull(configSupplier)) {
+                throw new IllegalArgumentException("configSupplier cannot be null");
+            }
+            this.configSupplier = configSupplier;
+        }
+
+        /**
+         * Sets the maximum number of clients held; least recently used are evicted first.
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a client may stay unused before it is evicted.
+         */
+        public Builder idleTimeout(int ms) {
+            if (ms <= 0) {
+                throw new IllegalArgumentException("idleTimeout must be positive");
+            }
+            this.idleTimeoutMs = ms;
+            return this;
+        }
+
+        /**
+         * Sets the transport registry for clients whose supplied builder does not set one
+         * (default: {@link SePayTransportRegistry#shared()}).
+         */
+        public Builder transportRegistry(SePayTransportRegistry registry) {
+            if (isNull(registry)) {
+                throw new IllegalArgumentException("transportRegistry cannot be null");
+            }
+            this.transportRegistry = registry;
+            return this;
+        }
+
+        public SePayClientRegistry build() {
+            return new SePayClientRegistry(this, System::nanoTime);
+        }
+
+        // For testing - allows injection of a fake clock
+        SePayClientRegistry build(LongSupplier nanoTime) {
+            return new SePayClientRegistry(this, nanoTime);
+        }
+    }
+}
@@ -2,22 +2,43 @@ package suprim.sepay.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import suprim.sepay.config.Endpoint;
 import suprim.sepay.exception.SePayApiException;
+import suprim.sepay.exception.SePayBulkheadFullException;
+import suprim.sepay.exception.SePayCircuitOpenException;
 import suprim.sepay.exception.SePayException;
 import suprim.sepay.exception.SePayNotFoundException;
 import suprim.sepay.exception.SePayRateLimitException;
 import suprim.sepay.exception.SePayServerException;
+import suprim.sepay.exception.SePayTimeoutException;
 import suprim.sepay.exception.SePayValidationException;
 import suprim.sepay.logging.SePayLogger;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -29,35 +50,114 @@ public class SePayHttpClient {
 
     private static final String USER_AGENT = "SePay-Java-SDK/0.0.2";
     private static final String CONTENT_TYPE = "application/json";
+    // Longest part of a body decoded for log lines and unparseable error messages
+    static final int MAX_BODY_EXCERPT_BYTES = 500;
 
-    private final HttpClient httpClient;
+    private final SePayTransport transport;
     private final SePayClientConfig config;
     private final String authHeader;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec json;
     private final SePayLogger logger;
+    private final Executor executor;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ConcurrentMap<Endpoint, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Bulkhead> bulkheads;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Hedger hedger;
+    private final RetryBudget retryBudget;
 
+    /**
+     * Creates a client with the SDK's shared mapper: Java time support, unknown properties
+     * ignored, and Blackbird or Afterburner used if on the classpath.
+     */
     public SePayHttpClient(SePayClientConfig config) {
-        this(config, new ObjectMapper());
+        this(config, JsonCodec.sharedMapper());
     }
 
+    /**
+     * Creates a client with a custom mapper. It must handle the {@code java.time} fields of
+     * {@link suprim.sepay.order.Order}, and should not be reconfigured afterwards.
+     */
     public SePayHttpClient(SePayClientConfig config, ObjectMapper objectMapper) {
         this.config = config;
-        this.objectMapper = objectMapper;
+        this.json = new JsonCodec(objectMapper);
         this.authHeader = buildAuthHeader(config.getMerchantId(), config.getSecretKey());
         this.logger = SePayLogger.getLogger(SePayHttpClient.class);
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
-            .followRedirects(HttpClient.Redirect.NORMAL)
-            .build();
+        this.rateLimiter = createRateLimiter(config);
+        this.bulkheads = createBulkheads(config);
+        this.concurrencyLimiter = createConcurrencyLimiter(config);
+        this.hedger = nonNull(config.getHedgingConfig()) ? new Hedger(config.getHedgingConfig()) : null;
+        this.retryBudget = nonNull(config.getRetryBudgetConfig()) ? new RetryBudget(config.getRetryBudgetConfig()) : null;
+        if (nonNull(config.getTransport())) {
+            this.executor = resolveExecutor(config);
+            this.transport = config.getTransport();
+        } else if (nonNull(config.getTransportRegistry())) {
+            // Shared connection pool; credentials stay per instance in authHeader
+            HttpClient shared = config.getTransportRegistry().httpClient(config);
+            this.executor = shared.executor().orElse(null);
+            this.transport = new JdkHttpTransport(shared);
+        } else {
+            this.executor = resolveExecutor(config);
+            this.transport = new JdkHttpTransport(newHttpClient(config, executor));
+        }
     }
 
     // For testing - allows injection of mock HttpClient
     SePayHttpClient(SePayClientConfig config, ObjectMapper objectMapper, HttpClient httpClient) {
         this.config = config;
-        this.objectMapper = objectMapper;
+        this.json = new JsonCodec(objectMapper);
         this.authHeader = buildAuthHeader(config.getMerchantId(), config.getSecretKey());
         this.logger = SePayLogger.getLogger(SePayHttpClient.class);
-        this.httpClient = httpClient;
+        this.executor = resolveExecutor(config);
+        this.rateLimiter = createRateLimiter(config);
+        this.bulkheads = createBulkheads(config);
+        this.concurrencyLimiter = createConcurrencyLimiter(config);
+        this.hedger = nonNull(config.getHedgingConfig()) ? new Hedger(config.getHedgingConfig()) : null;
+        this.retryBudget = nonNull(config.getRetryBudgetConfig()) ? new RetryBudget(config.getRetryBudgetConfig()) : null;
+        this.transport = new JdkHttpTransport(httpClient);
+    }
+
+    private static TokenBucketRateLimiter createRateLimiter(SePayClientConfig config) {
+        if (config.getRateLimitPerSecond() <= 0) {
+            return null;
+        }
+        return new TokenBucketRateLimiter(config.getRateLimitPerSecond(), config.getRateLimitBurst());
+    }
+
+    private static Map<Endpoint, Bulkhead> createBulkheads(SePayClientConfig config) {
+        Map<Endpoint, Bulkhead> bulkheads = new EnumMap<>(Endpoint.class);
+        config.getMaxConcurrentCalls().forEach((endpoint, maxCalls) ->
+            bulkheads.put(endpoint, new Bulkhead(endpoint, maxCalls)));
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    private static AdaptiveConcurrencyLimiter createConcurrencyLimiter(SePayClientConfig config) {
+        if (config.getAdaptiveConcurrencyMaxLimit() <= 0) {
+            return null;
+        }
+        return new AdaptiveConcurrencyLimiter(
+            config.getAdaptiveConcurrencyInitialLimit(), config.getAdaptiveConcurrencyMaxLimit());
+    }
+
+    static HttpClient newHttpClient(SePayClientConfig config, Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(config.getHttpVersion())
+            .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+            .followRedirects(HttpClient.Redirect.NORMAL);
+        if (nonNull(executor)) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+
+    static Executor resolveExecutor(SePayClientConfig config) {
+        if (nonNull(config.getExecutor())) {
+            return config.getExecutor();
+        }
+        if (config.isVirtualThreads() && VirtualThreads.isSupported()) {
+            return VirtualThreads.newExecutor();
+        }
+        return null;
     }
 
     /**
@@ -74,15 +174,8 @@ public class SePayHttpClient {
      * Execute POST request with JSON body.
      */
     public <T> T post(String url, Object body, Class<T> responseType) {
-        String jsonBody;
-        try {
-            jsonBody = objectMapper.writeValueAsString(body);
-        } catch (JsonProcessingException e) {
-            throw new SePayException("Failed to serialize request body", e);
-        }
-
         HttpRequest request = baseRequest(url)
-            .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+            .POST(jsonBody(body))
             .build();
         return executeWithRetry(request, responseType);
     }
@@ -97,10 +190,171 @@ public class SePayHttpClient {
         return executeWithRetryRaw(request);
     }
 
+    /**
+     * Execute GET request without blocking the calling thread.
+     * The returned future completes exceptionally with a {@link SePayException} on failure.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Class<T> responseType) {
+        HttpRequest request = baseRequest(url)
+            .GET()
+            .build();
+        return executeWithRetryAsync(request, responseType);
+    }
+
+    /**
+     * Execute POST request with JSON body without blocking the calling thread.
+     * The returned future completes exceptionally with a {@link SePayException} on failure.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> responseType) {
+        HttpRequest request;
+        try {
+            request = baseRequest(url)
+                .POST(jsonBody(body))
+                .build();
+        } catch (SePayException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeWithRetryAsync(request, responseType);
+    }
+
+    /**
+     * Execute GET request returning raw string response without blocking the calling thread.
+     */
+    public CompletableFuture<String> getRawAsync(String url) {
+        HttpRequest request = baseRequest(url)
+            .GET()
+            .build();
+        return executeWithRetryRawAsync(request);
+    }
+
+    /**
+     * Execute GET request under a deadline and cancellation context; see {@link CallContext}.
+     * Throws {@link SePayTimeoutException} once the deadline passes.
+     */
+    public <T> T get(String url, Class<T> responseType, CallContext context) {
+        if (isNull(context)) {
+            return get(url, responseType);
+        }
+        HttpRequest request = baseRequest(url, context)
+            .GET()
+            .build();
+        return parseResponse(join(executeWithRetryBytesAsync(request, context)), responseType);
+    }
+
+    /**
+     * Execute POST request with JSON body under a deadline and cancellation context; see
+     * {@link CallContext}. Throws {@link SePayTimeoutException} once the deadline passes.
+     */
+    public <T> T post(String url, Object body, Class<T> responseType, CallContext context) {
+        if (isNull(context)) {
+            return post(url, body, responseType);
+        }
+        HttpRequest request = baseRequest(url, context)
+            .POST(jsonBody(body))
+            .build();
+        return parseResponse(join(executeWithRetryBytesAsync(request, context)), responseType);
+    }
+
+    /**
+     * Execute GET request under a deadline and cancellation context without blocking the
+     * calling thread. Cancelling the returned future aborts the call like cancelling the context.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Class<T> responseType, CallContext context) {
+        HttpRequest request = baseRequest(url, context)
+            .GET()
+            .build();
+        return mapResult(executeWithRetryBytesAsync(request, context), body -> parseResponse(body, responseType));
+    }
+
+    /**
+     * Execute POST request with JSON body under a deadline and cancellation context without
+     * blocking the calling thread. Cancelling the returned future aborts the call like
+     * cancelling the context.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> responseType, CallContext context) {
+        HttpRequest request;
+        try {
+            request = baseRequest(url, context)
+                .POST(jsonBody(body))
+                .build();
+        } catch (SePayException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return mapResult(executeWithRetryBytesAsync(request, context), value -> parseResponse(value, responseType));
+    }
+
+    /**
+     * Opens connections before the first real request by sending a HEAD request to each base
+     * URL, which resolves the host and completes the TCP, TLS and HTTP/2 handshakes. Any
+     * response counts, whatever its status. Warm-up requests bypass retries, rate limiting and
+     * concurrency limits.
+     *
+     * @param baseUrls the base URLs to connect to, e.g. {@link SePayClientConfig#getApiBaseUrl()}
+     * @return true if every host responded
+     */
+    public boolean warmUp(String... baseUrls) {
+        return warmUpAsync(baseUrls).join();
+    }
+
+    /**
+     * Non-blocking variant of {@link #warmUp(String...)}. The returned future never completes
+     * exceptionally.
+     */
+    public CompletableFuture<Boolean> warmUpAsync(String... baseUrls) {
+        CompletableFuture<?>[] connects = Arrays.stream(baseUrls)
+            .distinct()
+            .map(this::connectAsync)
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(connects)
+            .thenApply(ignored -> Arrays.stream(connects).allMatch(connect -> Boolean.TRUE.equals(connect.join())));
+    }
+
+    private CompletableFuture<Boolean> connectAsync(String baseUrl) {
+        try {
+            // No credentials: the request does no work and may go to the checkout host
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl))
+                .timeout(Duration.ofMillis(config.getReadTimeoutMs()))
+                .header("User-Agent", USER_AGENT)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+            return transport.sendAsync(request)
+                .handle((response, error) -> {
+                    if (nonNull(error)) {
+                        logger.debug("SePay warm-up of {} failed: {}", baseUrl, error.getMessage());
+                        return false;
+                    }
+                    return true;
+                });
+        } catch (RuntimeException e) {
+            logger.debug("SePay warm-up of {} failed: {}", baseUrl, e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(json.write(body));
+        } catch (JsonProcessingException e) {
+            throw new SePayException("Failed to serialize request body", e);
+        }
+    }
+
     private HttpRequest.Builder baseRequest(String url) {
+        return baseRequest(url, null);
+    }
+
+    /**
+     * Starts a request whose timeout is the read timeout, cut to the time left under the context.
+     */
+    private HttpRequest.Builder baseRequest(String url, CallContext context) {
+        Duration timeout = Duration.ofMillis(config.getReadTimeoutMs());
+        if (nonNull(context) && context.remainingNanos() < timeout.toNanos()) {
+            timeout = Duration.ofNanos(Math.max(TimeUnit.MILLISECONDS.toNanos(1), context.remainingNanos()));
+        }
         return HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(Duration.ofMillis(config.getReadTimeoutMs()))
+            .timeout(timeout)
             .header("Authorization", authHeader)
             .header("Content-Type", CONTENT_TYPE)
             .header("Accept", CONTENT_TYPE)
@@ -108,53 +362,84 @@ public class SePayHttpClient {
     }
 
     private <T> T executeWithRetry(HttpRequest request, Class<T> responseType) {
-        String responseBody = executeWithRetryRaw(request);
+        return parseResponse(executeWithRetryBytes(request), responseType);
+    }
+
+    private String executeWithRetryRaw(HttpRequest request) {
+        return new String(executeWithRetryBytes(request), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the response straight from its UTF-8 bytes, without decoding it to a String first.
+     */
+    private <T> T parseResponse(byte[] responseBody, Class<T> responseType) {
         try {
-            return objectMapper.readValue(responseBody, responseType);
-        } catch (JsonProcessingException e) {
-            throw new SePayException("Failed to parse response: " + responseBody, e);
+            return json.read(responseBody, responseType);
+        } catch (IOException e) {
+            throw new SePayException("Failed to parse response: " + excerpt(responseBody), e);
         }
     }
 
-    private String executeWithRetryRaw(HttpRequest request) {
+    private byte[] executeWithRetryBytes(HttpRequest request) {
+        recordCall();
+        if (isHedged(request)) {
+            return join(executeHedgedAsync(request, Endpoint.of(request.uri()), null));
+        }
         int maxRetries = config.getMaxRetries();
         SePayException lastException = null;
+        long delayMs = 0;
+        Endpoint endpoint = Endpoint.of(request.uri());
+        CircuitBreaker breaker = getCircuitBreaker(endpoint);
+        Bulkhead bulkhead = bulkheads.get(endpoint);
 
         for (int attempt = 0; attempt <= maxRetries; attempt++) {
             try {
-                if (config.isDebugMode()) {
-                    logger.debug("SePay API Request: {} {} (attempt {})",
-                        request.method(), request.uri(), attempt + 1);
-                }
+                acquirePermit();
+                acquireSlots(bulkhead);
+                TransportResponse response;
+                int statusCode;
+                byte[] body;
+                try {
+                    if (nonNull(breaker) && !breaker.tryAcquirePermission()) {
+                        throw circuitOpenException(breaker);
+                    }
+                    logRequest(request, attempt);
 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                int statusCode = response.statusCode();
-                String body = response.body();
+                    long startNanos = System.nanoTime();
+                    response = send(request, breaker);
+                    statusCode = response.getStatusCode();
+                    body = response.getBody();
 
-                if (config.isDebugMode()) {
-                    String truncatedBody = nonNull(body) && body.length() > 500
-                        ? body.substring(0, 500) + "..." : body;
-                    logger.debug("SePay API Response: {} - {}", statusCode, truncatedBody);
+                    logResponse(statusCode, body);
+                    recordOutcome(endpoint, breaker, statusCode, startNanos);
+                } finally {
+                    // Slots are held per attempt, never across a backoff sleep
+                    releaseSlots(bulkhead);
                 }
 
-                if (statusCode >= 200 && statusCode < 300) {
-                    return nonNull(body) ? body : "";
+                if (isSuccess(statusCode)) {
+                    return body;
                 }
 
                 // Not a success - check if retryable
                 if (!isRetryable(statusCode) || attempt == maxRetries) {
-                    throw mapStatusToException(statusCode, body);
+                    throw mapStatusToException(statusCode, body, response.getHeaders());
                 }
 
-                // Retry with exponential backoff
-                sleepBeforeRetry(attempt);
+                // Retry after backoff, or longer if the server asks via Retry-After
+                delayMs = retryDelayMs(attempt, delayMs, parseRetryAfter(response.getHeaders()));
+                if (delayMs < 0 || !tryAcquireRetry()) {
+                    throw mapStatusToException(statusCode, body, response.getHeaders());
+                }
+                sleepBeforeRetry(delayMs);
 
             } catch (IOException e) {
                 lastException = new SePayException("HTTP request failed: " + e.getMessage(), e);
-                if (attempt == maxRetries) {
+                if (attempt == maxRetries || !tryAcquireRetry()) {
                     throw lastException;
                 }
-                sleepBeforeRetry(attempt);
+                delayMs = retryDelayMs(attempt, delayMs, null);
+                sleepBeforeRetry(delayMs);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new SePayException("Request interrupted", e);
@@ -165,89 +450,743 @@ public class SePayHttpClient {
         throw nonNull(lastException) ? lastException : new SePayException("Request failed after retries");
     }
 
+    /**
+     * Sends one attempt, reporting transport failures to the circuit breaker and concurrency
+     * limiter. Responses are reported by the caller through {@link #recordOutcome}.
+     */
+    private TransportResponse send(HttpRequest request, CircuitBreaker breaker)
+            throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        TransportResponse response;
+        try {
+            response = transport.send(request);
+        } catch (IOException e) {
+            recordFailure(breaker, startNanos);
+            throw e;
+        } catch (InterruptedException e) {
+            if (nonNull(breaker)) {
+                breaker.onIgnored();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // A broken transport says nothing about SePay, but its permit must go back
+            if (nonNull(breaker)) {
+                breaker.onIgnored();
+            }
+            throw transportException(e);
+        }
+        if (isNull(response)) {
+            if (nonNull(breaker)) {
+                breaker.onIgnored();
+            }
+            throw transportException(
+                new IllegalStateException(transport.getClass().getName() + ".send returned null"));
+        }
+        return response;
+    }
+
+    private <T> CompletableFuture<T> executeWithRetryAsync(HttpRequest request, Class<T> responseType) {
+        return mapResult(executeWithRetryBytesAsync(request), body -> parseResponse(body, responseType));
+    }
+
+    private CompletableFuture<String> executeWithRetryRawAsync(HttpRequest request) {
+        return mapResult(executeWithRetryBytesAsync(request), body -> new String(body, StandardCharsets.UTF_8));
+    }
+
+    private CompletableFuture<byte[]> executeWithRetryBytesAsync(HttpRequest request) {
+        return executeWithRetryBytesAsync(request, null);
+    }
+
+    private CompletableFuture<byte[]> executeWithRetryBytesAsync(HttpRequest request, CallContext context) {
+        if (nonNull(context)) {
+            if (context.isCancelled()) {
+                CompletableFuture<byte[]> cancelled = new CompletableFuture<>();
+                cancelled.cancel(false);
+                return cancelled;
+            }
+            if (context.isExpired()) {
+                return CompletableFuture.failedFuture(new SePayTimeoutException("Deadline exceeded"));
+            }
+        }
+        recordCall();
+        Endpoint endpoint = Endpoint.of(request.uri());
+        CompletableFuture<byte[]> result = isHedged(request)
+            ? executeHedgedAsync(request, endpoint, context)
+            : startCall(request, endpoint, context, config.getMaxRetries()).result;
+        if (nonNull(context)) {
+            context.attach(result);
+        }
+        return result;
+    }
+
+    private AsyncCall startCall(HttpRequest request, Endpoint endpoint, CallContext context, int maxRetries) {
+        AsyncCall call = new AsyncCall(request, getCircuitBreaker(endpoint), bulkheads.get(endpoint), context, maxRetries);
+        call.result.whenComplete((body, error) -> {
+            // Cancelled, timed out or lost to a hedge - stop the exchange still running, if any
+            if (nonNull(error)) {
+                call.abortInFlight();
+            }
+        });
+        attemptAsync(call);
+        return call;
+    }
+
+    private boolean isHedged(HttpRequest request) {
+        return nonNull(hedger) && "GET".equals(request.method());
+    }
+
+    /**
+     * Sends a GET and, if it is still running after the endpoint's hedge delay and the hedge
+     * budget allows, an identical second one. The first success wins and the other call is
+     * cancelled; the result fails only once every call sent has failed. Only the primary
+     * retries, so a hedge adds at most one request to the call.
+     */
+    private CompletableFuture<byte[]> executeHedgedAsync(HttpRequest request, Endpoint endpoint, CallContext context) {
+        hedger.onRequest();
+        long delayNanos = hedger.hedgeDelayNanos(endpoint);
+        AsyncCall primary = startCall(request, endpoint, context, config.getMaxRetries());
+        if (delayNanos < 0) {
+            return primary.result;
+        }
+        HedgedCall hedged = new HedgedCall(primary);
+        hedged.track(primary);
+        delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (hedged.result.isDone() || !hedged.reserveHedge(hedger)) {
+                return;
+            }
+            AsyncCall hedge = startCall(request, endpoint, context, 0);
+            hedged.hedge = hedge;
+            hedged.track(hedge);
+            if (hedged.result.isDone()) {
+                hedge.result.cancel(false);
+            }
+        });
+        return hedged.result;
+    }
+
+    /**
+     * A GET raced against its hedge. Calls report back through {@link #track}; {@code running}
+     * counts calls sent and not yet failed, guarded by this object.
+     */
+    private static final class HedgedCall {
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final AsyncCall primary;
+        private volatile AsyncCall hedge;
+        private int running = 1;
+
+        HedgedCall(AsyncCall primary) {
+            this.primary = primary;
+            result.whenComplete((body, error) -> {
+                // Cancel the loser, or both calls if the caller gave up
+                primary.result.cancel(false);
+                AsyncCall sent = hedge;
+                if (nonNull(sent)) {
+                    sent.result.cancel(false);
+                }
+            });
+        }
+
+        synchronized boolean reserveHedge(Hedger hedger) {
+            if (running == 0 || !hedger.tryAcquireHedge()) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        void track(AsyncCall call) {
+            call.result.whenComplete((body, error) -> {
+                if (isNull(error)) {
+                    result.complete(body);
+                    return;
+                }
+                boolean last;
+                synchronized (this) {
+                    last = --running == 0;
+                }
+                if (last) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SePayException("HTTP request failed: " + cause.getMessage(), cause);
+        } catch (CancellationException e) {
+            throw new SePayException("Request cancelled", e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new SePayException("Request interrupted", e);
+        }
+    }
+
+    /**
+     * Maps a call's result; cancelling the returned future also stops the call's retries.
+     */
+    private static <T> CompletableFuture<T> mapResult(CompletableFuture<byte[]> result, Function<byte[], T> mapper) {
+        CompletableFuture<T> mapped = result.thenApply(mapper);
+        mapped.whenComplete((value, error) -> {
+            if (mapped.isCancelled()) {
+                result.cancel(false);
+            }
+        });
+        return mapped;
+    }
+
+    /**
+     * Sends one attempt and, on a retryable failure, schedules the next attempt on the
+     * shared delayed executor instead of sleeping, so no thread is held between attempts.
+     */
+    private void attemptAsync(AsyncCall call) {
+        if (call.result.isDone()) {
+            // Cancelled by the caller - stop retrying
+            return;
+        }
+        if (!reservePermitAsync(call)) {
+            return;
+        }
+        acquireSlotAsync(call, call.bulkhead, () -> {},
+            () -> acquireSlotAsync(call, concurrencyLimiter, () -> releaseSlot(call.bulkhead),
+                () -> sendAttemptAsync(call)));
+    }
+
+    /**
+     * Waits without blocking for a slot, then continues with {@code onAcquired}. If the wait
+     * exceeds the bulkhead timeout, fails the call and runs {@code onRejected} to return any
+     * slot taken earlier in the chain.
+     */
+    private void acquireSlotAsync(AsyncCall call, PermitQueue slots, Runnable onRejected, Runnable onAcquired) {
+        if (isNull(slots)) {
+            onAcquired.run();
+            return;
+        }
+        CompletableFuture<Void> slot = slots.acquireAsync();
+        if (!slot.isDone()) {
+            int timeoutMs = config.getBulkheadTimeoutMs();
+            if (timeoutMs == 0) {
+                if (slots.abandon(slot)) {
+                    onRejected.run();
+                    call.result.completeExceptionally(concurrencyLimitException(slots));
+                    return;
+                }
+            } else {
+                delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (slots.abandon(slot)) {
+                        onRejected.run();
+                        call.result.completeExceptionally(concurrencyLimitException(slots));
+                    }
+                });
+            }
+        }
+        slot.thenRun(onAcquired);
+    }
+
+    /**
+     * Sends one async attempt once its slots are held, releasing them when the response arrives.
+     */
+    private void sendAttemptAsync(AsyncCall call) {
+        if (call.result.isDone()) {
+            releaseSlots(call.bulkhead);
+            return;
+        }
+        if (nonNull(call.breaker) && !call.breaker.tryAcquirePermission()) {
+            releaseSlots(call.bulkhead);
+            call.result.completeExceptionally(circuitOpenException(call.breaker));
+            return;
+        }
+        int attempt = call.attempt;
+        logRequest(call.request, attempt);
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<TransportResponse> sent;
+        try {
+            sent = transport.sendAsync(call.request);
+            if (isNull(sent)) {
+                throw new IllegalStateException(transport.getClass().getName() + ".sendAsync returned null");
+            }
+        } catch (RuntimeException e) {
+            // A broken transport: this may run on an executor thread where a throw would be lost
+            if (nonNull(call.breaker)) {
+                call.breaker.onIgnored();
+            }
+            releaseSlots(call.bulkhead);
+            call.result.completeExceptionally(transportException(e));
+            return;
+        }
+        call.inFlight = sent;
+        if (call.result.isDone()) {
+            // Cancelled or timed out while sending - make sure the abort reaches this exchange
+            sent.cancel(true);
+        }
+        sent.whenComplete((response, error) -> {
+            try {
+                int statusCode = 0;
+                byte[] body = null;
+                try {
+                    if (nonNull(error)) {
+                        if (call.result.isDone()) {
+                            // Aborted by the caller or a winning hedge - says nothing about SePay
+                            if (nonNull(call.breaker)) {
+                                call.breaker.onIgnored();
+                            }
+                        } else {
+                            recordFailure(call.breaker, startNanos);
+                        }
+                    } else {
+                        statusCode = response.getStatusCode();
+                        body = response.getBody();
+
+                        logResponse(statusCode, body);
+                        Endpoint endpoint = Endpoint.of(call.request.uri());
+                        recordOutcome(endpoint, call.breaker, statusCode, startNanos);
+                        if (nonNull(hedger) && isSuccess(statusCode)) {
+                            hedger.recordLatency(endpoint, System.nanoTime() - startNanos);
+                        }
+                    }
+                } finally {
+                    releaseSlots(call.bulkhead);
+                }
+                if (call.result.isDone()) {
+                    return;
+                }
+
+                int maxRetries = call.maxRetries;
+                Long retryAfter = null;
+                Throwable cause = null;
+                if (nonNull(error)) {
+                    cause = error instanceof CompletionException && nonNull(error.getCause())
+                        ? error.getCause() : error;
+                    if (attempt == maxRetries) {
+                        call.result.completeExceptionally(transportException(cause));
+                        return;
+                    }
+                } else {
+                    if (isSuccess(statusCode)) {
+                        call.result.complete(body);
+                        return;
+                    }
+                    if (!isRetryable(statusCode) || attempt == maxRetries) {
+                        call.result.completeExceptionally(
+                            mapStatusToException(statusCode, body, response.getHeaders()));
+                        return;
+                    }
+                    retryAfter = parseRetryAfter(response.getHeaders());
+                }
+                long delayMs = retryDelayMs(attempt, call.delayMs, retryAfter);
+                if (delayMs < 0) {
+                    call.result.completeExceptionally(
+                        mapStatusToException(statusCode, body, response.getHeaders()));
+                    return;
+                }
+                // No retry if the next attempt could not even start before the deadline, or
+                // the client's retry budget is spent
+                boolean outOfTime = nonNull(call.context)
+                    && call.context.remainingNanos() <= TimeUnit.MILLISECONDS.toNanos(delayMs);
+                if (outOfTime || !tryAcquireRetry()) {
+                    SePayException last = nonNull(cause) ? transportException(cause)
+                        : mapStatusToException(statusCode, body, response.getHeaders());
+                    call.result.completeExceptionally(outOfTime
+                        ? new SePayTimeoutException("Deadline exceeded before retry in " + delayMs + "ms", last)
+                        : last);
+                    return;
+                }
+                call.attempt++;
+                call.delayMs = delayMs;
+                delayedExecutor(delayMs, TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(call));
+            } catch (RuntimeException e) {
+                call.result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private void recordCall() {
+        if (nonNull(retryBudget)) {
+            retryBudget.onCall();
+        }
+    }
+
+    /**
+     * Spends a retry from the client-wide budget; always true without one.
+     */
+    private boolean tryAcquireRetry() {
+        return isNull(retryBudget) || retryBudget.tryAcquireRetry();
+    }
+
+    private static SePayException transportException(Throwable cause) {
+        return new SePayException("HTTP request failed: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Takes a rate limit permit for an async attempt. If none is available, schedules the
+     * attempt for when one is (returning false), or fails the call once the wait would
+     * exceed the configured rate limit timeout.
+     */
+    private boolean reservePermitAsync(AsyncCall call) {
+        if (isNull(rateLimiter)) {
+            return true;
+        }
+        long wait = rateLimiter.tryReserve();
+        if (wait == 0) {
+            call.permitDeadlineNanos = 0;
+            return true;
+        }
+        long now = System.nanoTime();
+        if (call.permitDeadlineNanos == 0) {
+            call.permitDeadlineNanos = now + TimeUnit.MILLISECONDS.toNanos(config.getRateLimitTimeoutMs());
+        }
+        if (now + wait > call.permitDeadlineNanos) {
+            call.result.completeExceptionally(clientRateLimitException(wait));
+        } else {
+            delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> attemptAsync(call));
+        }
+        return false;
+    }
+
+    private void acquirePermit() throws InterruptedException {
+        if (isNull(rateLimiter)) {
+            return;
+        }
+        int timeoutMs = config.getRateLimitTimeoutMs();
+        boolean acquired = timeoutMs > 0
+            ? rateLimiter.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)
+            : rateLimiter.tryAcquire();
+        if (!acquired) {
+            throw clientRateLimitException(rateLimiter.tryReserve());
+        }
+    }
+
+    private SePayRateLimitException clientRateLimitException(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new SePayRateLimitException("Client-side rate limit exceeded", retryAfterSeconds);
+    }
+
+    /**
+     * Feeds a response status back into the rate limiter, concurrency limiter and circuit breaker.
+     */
+    private void recordOutcome(Endpoint endpoint, CircuitBreaker breaker, int statusCode, long startNanos) {
+        long rttNanos = System.nanoTime() - startNanos;
+        if (nonNull(rateLimiter)) {
+            if (statusCode == 429) {
+                rateLimiter.onRateLimited();
+            } else if (isSuccess(statusCode)) {
+                rateLimiter.onSuccess();
+            }
+        }
+        if (nonNull(concurrencyLimiter)) {
+            if (isRetryable(statusCode)) {
+                concurrencyLimiter.onDropped();
+            } else {
+                concurrencyLimiter.onSuccess(endpoint, rttNanos);
+            }
+        }
+        if (nonNull(breaker)) {
+            if (statusCode >= 500) {
+                breaker.onFailure(rttNanos);
+            } else if (statusCode == 429) {
+                breaker.onIgnored();
+            } else {
+                breaker.onSuccess(rttNanos);
+            }
+        }
+    }
+
+    private void recordFailure(CircuitBreaker breaker, long startNanos) {
+        if (nonNull(concurrencyLimiter)) {
+            concurrencyLimiter.onDropped();
+        }
+        if (nonNull(breaker)) {
+            breaker.onFailure(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Takes the endpoint's bulkhead slot, then a slot under the adaptive concurrency limit.
+     */
+    private void acquireSlots(Bulkhead bulkhead) throws InterruptedException {
+        acquireSlot(bulkhead);
+        try {
+            acquireSlot(concurrencyLimiter);
+        } catch (InterruptedException | RuntimeException e) {
+            releaseSlot(bulkhead);
+            throw e;
+        }
+    }
+
+    private void acquireSlot(PermitQueue slots) throws InterruptedException {
+        if (isNull(slots)) {
+            return;
+        }
+        int timeoutMs = config.getBulkheadTimeoutMs();
+        boolean acquired = timeoutMs > 0
+            ? slots.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)
+            : slots.tryAcquire();
+        if (!acquired) {
+            throw concurrencyLimitException(slots);
+        }
+    }
+
+    private void releaseSlots(Bulkhead bulkhead) {
+        releaseSlot(concurrencyLimiter);
+        releaseSlot(bulkhead);
+    }
+
+    private void releaseSlot(PermitQueue slots) {
+        if (nonNull(slots)) {
+            slots.release();
+        }
+    }
+
+    private SePayBulkheadFullException concurrencyLimitException(PermitQueue slots) {
+        if (slots instanceof Bulkhead) {
+            Bulkhead bulkhead = (Bulkhead) slots;
+            return new SePayBulkheadFullException(
+                "Concurrency limit of " + bulkhead.getMaxConcurrentCalls() + " reached for " + bulkhead.getEndpoint(),
+                bulkhead.getEndpoint().name());
+        }
+        return new SePayBulkheadFullException(
+            "Adaptive concurrency limit of " + slots.limit() + " reached", null);
+    }
+
+    private SePayCircuitOpenException circuitOpenException(CircuitBreaker breaker) {
+        return new SePayCircuitOpenException(
+            "Circuit breaker is open for " + breaker.getEndpoint(), breaker.getEndpoint().name());
+    }
+
+    private Executor delayedExecutor(long delay, TimeUnit unit) {
+        return nonNull(executor)
+            ? CompletableFuture.delayedExecutor(delay, unit, executor)
+            : CompletableFuture.delayedExecutor(delay, unit);
+    }
+
+    /**
+     * State of one async call across its attempts. Attempts run one at a time, each handed
+     * off through the executor, so the mutable fields need no further synchronization.
+     */
+    private static final class AsyncCall {
+        private final HttpRequest request;
+        private final CircuitBreaker breaker;
+        private final Bulkhead bulkhead;
+        // Deadline and cancellation of the call, or null
+        private final CallContext context;
+        // 0 for a hedge: only the primary of a hedged call retries
+        private final int maxRetries;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private int attempt;
+        // Delay before the current attempt, fed back into the backoff policy
+        private long delayMs;
+        // Latest time to wait for a rate limit permit for the current attempt; 0 when not waiting
+        private long permitDeadlineNanos;
+        // Exchange of the current attempt, aborted if the call is cancelled or times out
+        private volatile CompletableFuture<?> inFlight;
+
+        AsyncCall(HttpRequest request, CircuitBreaker breaker, Bulkhead bulkhead, CallContext context,
+                  int maxRetries) {
+            this.request = request;
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+            this.context = context;
+            this.maxRetries = maxRetries;
+        }
+
+        void abortInFlight() {
+            CompletableFuture<?> exchange = inFlight;
+            if (nonNull(exchange)) {
+                exchange.cancel(true);
+            }
+        }
+    }
+
+    private void logRequest(HttpRequest request, int attempt) {
+        if (config.isDebugMode()) {
+            logger.debug("SePay API Request: {} {} (attempt {})",
+                request.method(), request.uri(), attempt + 1);
+        }
+    }
+
+    private void logResponse(int statusCode, byte[] body) {
+        if (config.isDebugMode()) {
+            logger.debug("SePay API Response: {} - {}", statusCode, excerpt(body));
+        }
+    }
+
+    /**
+     * Decodes at most {@value #MAX_BODY_EXCERPT_BYTES} bytes of a body, so a large or binary
+     * body never ends up whole in a log line or exception message.
+     */
+    static String excerpt(byte[] body) {
+        if (isNull(body)) {
+            return null;
+        }
+        if (body.length <= MAX_BODY_EXCERPT_BYTES) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(body, 0, MAX_BODY_EXCERPT_BYTES, StandardCharsets.UTF_8) + "...";
+    }
+
+    private boolean isSuccess(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
     private boolean isRetryable(int statusCode) {
         return statusCode == 429 || statusCode >= 500;
     }
 
-    private void sleepBeforeRetry(int attempt) {
+    /**
+     * Sleeps out a backoff. An interrupt ends the call rather than cutting the sleep short.
+     */
+    private void sleepBeforeRetry(long delayMs) {
         try {
-            // Exponential backoff: delay * (attempt + 1)
-            long delay = (long) config.getRetryDelayMs() * (attempt + 1);
-            Thread.sleep(delay);
+            Thread.sleep(delayMs);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new SePayException("Request interrupted", e);
         }
     }
 
-    private SePayApiException mapStatusToException(int statusCode, String responseBody) {
-        String errorMessage = parseErrorMessage(responseBody);
-        String errorCode = parseErrorCode(responseBody);
+    /**
+     * Returns the delay before the next attempt: the backoff policy's delay, raised to the
+     * server's Retry-After if that is longer. Returns -1 if Retry-After exceeds the
+     * configured maximum, meaning the call should fail rather than wait.
+     */
+    private long retryDelayMs(int attempt, long previousDelayMs, Long retryAfterSeconds) {
+        long delayMs = Math.max(0, config.getBackoffPolicy().delayMs(attempt, previousDelayMs));
+        if (nonNull(retryAfterSeconds)) {
+            long retryAfterMs = TimeUnit.SECONDS.toMillis(retryAfterSeconds);
+            if (retryAfterMs > config.getMaxRetryDelayMs()) {
+                return -1;
+            }
+            delayMs = Math.max(delayMs, retryAfterMs);
+        }
+        return delayMs;
+    }
+
+    private SePayApiException mapStatusToException(int statusCode, byte[] responseBody, HttpHeaders headers) {
+        ApiErrorResponse error = parseError(responseBody);
+        String errorMessage = error.getMessage();
+        String errorCode = error.getError();
+        Long retryAfter = parseRetryAfter(headers);
+        String requestId = parseRequestId(headers);
 
         switch (statusCode) {
             case 400:
                 return new SePayApiException(
                     nonNull(errorMessage) ? errorMessage : "Validation error",
                     statusCode,
-                    errorCode
+                    errorCode,
+                    retryAfter,
+                    requestId
                 );
             case 401:
                 return new SePayApiException(
                     nonNull(errorMessage) ? errorMessage : "Authentication failed",
                     statusCode,
-                    errorCode
+                    errorCode,
+                    retryAfter,
+                    requestId
                 );
             case 404:
                 return new SePayNotFoundException(
-                    nonNull(errorMessage) ? errorMessage : "Resource not found"
+                    nonNull(errorMessage) ? errorMessage : "Resource not found",
+                    errorCode,
+                    requestId
                 );
             case 429:
-                Long retryAfter = parseRetryAfter(responseBody);
                 return new SePayRateLimitException(
                     nonNull(errorMessage) ? errorMessage : "Rate limit exceeded",
-                    retryAfter
+                    errorCode,
+                    retryAfter,
+                    requestId
                 );
             default:
                 if (statusCode >= 500) {
                     return new SePayServerException(
                         nonNull(errorMessage) ? errorMessage : "Server error",
-                        statusCode
+                        statusCode,
+                        errorCode,
+                        retryAfter,
+                        requestId
                     );
                 }
                 return new SePayApiException(
                     nonNull(errorMessage) ? errorMessage : "API error",
                     statusCode,
-                    errorCode
+                    errorCode,
+                    retryAfter,
+                    requestId
                 );
         }
     }
 
-    private String parseErrorMessage(String responseBody) {
-        if (isNull(responseBody) || responseBody.isEmpty()) {
-            return null;
+    /**
+     * Reads the error code and message from an error body in one pass. A body that is not a
+     * JSON object, such as a proxy's HTML error page, becomes the message without invoking
+     * the JSON parser.
+     */
+    private ApiErrorResponse parseError(byte[] responseBody) {
+        if (isNull(responseBody) || responseBody.length == 0) {
+            return new ApiErrorResponse();
         }
-        try {
-            ApiErrorResponse error = objectMapper.readValue(responseBody, ApiErrorResponse.class);
-            return error.getMessage();
-        } catch (JsonProcessingException e) {
-            return responseBody;
+        if (startsWithObject(responseBody)) {
+            try {
+                return json.read(responseBody, ApiErrorResponse.class);
+            } catch (IOException e) {
+                // Not a valid error object - fall back to the raw body
+            }
         }
+        return new ApiErrorResponse(null, excerpt(responseBody));
     }
 
-    private String parseErrorCode(String responseBody) {
-        if (isNull(responseBody) || responseBody.isEmpty()) {
-            return null;
+    private static boolean startsWithObject(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b == '{';
+            }
         }
-        try {
-            ApiErrorResponse error = objectMapper.readValue(responseBody, ApiErrorResponse.class);
-            return error.getError();
-        } catch (JsonProcessingException e) {
+        return false;
+    }
+
+    static String parseRequestId(HttpHeaders headers) {
+        if (isNull(headers)) {
             return null;
         }
+        return headers.firstValue("X-Request-Id").orElse(null);
     }
 
-    private Long parseRetryAfter(String responseBody) {
-        // Could parse from response headers or body if provided
-        return null;
+    /**
+     * Parses a Retry-After header given either as delay-seconds or as an HTTP-date.
+     *
+     * @return seconds to wait, or null if the header is absent or malformed
+     */
+    static Long parseRetryAfter(HttpHeaders headers) {
+        if (isNull(headers)) {
+            return null;
+        }
+        String value = headers.firstValue("Retry-After").map(String::trim).orElse(null);
+        if (isNull(value) || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds - try HTTP-date
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            long millis = Duration.between(Instant.now(), retryAt.toInstant()).toMillis();
+            return Math.max(0, (millis + 999) / 1000);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     private static String buildAuthHeader(String merchantId, String secretKey) {
@@ -260,4 +1199,68 @@ public class SePayHttpClient {
     String getAuthHeader() {
         return authHeader;
     }
+
+    // Getter for testing
+    Executor getExecutor() {
+        return executor;
+    }
+
+    // Getter for testing
+    HttpClient getHttpClient() {
+        return transport instanceof JdkHttpTransport ? ((JdkHttpTransport) transport).getHttpClient() : null;
+    }
+
+    /**
+     * Returns the transport sending this client's requests.
+     */
+    public SePayTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Returns the circuit breaker for an endpoint family, or null if circuit breaking is disabled.
+     * Breakers are created on first use; their state can be polled for monitoring.
+     */
+    public CircuitBreaker getCircuitBreaker(Endpoint endpoint) {
+        CircuitBreakerConfig breakerConfig = config.getCircuitBreakerConfig();
+        if (isNull(breakerConfig)) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(endpoint, e -> new CircuitBreaker(e, breakerConfig));
+    }
+
+    /**
+     * Returns the concurrency limiter for an endpoint family, or null if it is unbounded.
+     */
+    public Bulkhead getBulkhead(Endpoint endpoint) {
+        return bulkheads.get(endpoint);
+    }
+
+    /**
+     * Returns the adaptive limit on in-flight requests, or null if it is disabled.
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Returns the hedging state for GET requests, or null if hedging is disabled.
+     */
+    public Hedger getHedger() {
+        return hedger;
+    }
+
+    /**
+     * Returns the client-wide retry budget, or null if only {@code maxRetries} limits retries.
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Returns the client-side rate limiter, or null if rate limiting is disabled.
+     */
+    public TokenBucketRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
 }
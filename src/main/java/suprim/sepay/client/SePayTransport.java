@@ -0,0 +1,38 @@
+package suprim.sepay.client;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the HTTP requests of a {@link SePayHttpClient}.
+ *
+ * <p>The default transport is {@link JdkHttpTransport}. Another one can be set with
+ * {@link SePayClientConfig.Builder#transport(SePayTransport)}, e.g. to use a different HTTP
+ * stack or to run against {@link suprim.sepay.stub.StubSePayServer} offline. Retries,
+ * deadlines, rate limiting, concurrency limits, circuit breaking and hedging all run above
+ * the transport, so a transport only sends single requests.
+ */
+public interface SePayTransport {
+
+    /**
+     * Sends a request and waits for its whole response.
+     *
+     * @param request the request, with all headers already set
+     * @return the response
+     * @throws IOException if no response was received; the call may be retried
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    TransportResponse send(HttpRequest request) throws IOException, InterruptedException;
+
+    /**
+     * Sends a request without blocking the calling thread. If no response is received, the
+     * future fails with an {@link IOException}, directly or as the cause of a
+     * {@link java.util.concurrent.CompletionException}. Cancelling the future should abort
+     * the exchange.
+     *
+     * @param request the request, with all headers already set
+     * @return future completing with the response
+     */
+    CompletableFuture<TransportResponse> sendAsync(HttpRequest request);
+}
@@ -0,0 +1,99 @@
+package suprim.sepay.client;
+
+import java.net.http.HttpClient;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Registry of shared {@link HttpClient} instances for multi-merchant deployments.
+ *
+ * <p>Clients configured with the same registry and the same transport settings (connect timeout,
+ * executor and HTTP version) reuse one HttpClient, and with it one connection pool, selector thread and TLS
+ * session cache. Authentication is applied per request, so merchants never share credentials.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SePayClient client = SePayClient.create(
+ *     SePayClient.builder(merchantId, secretKey)
+ *         .transportRegistry(SePayTransportRegistry.shared())
+ *         .build());
+ * }</pre>
+ */
+public final class SePayTransportRegistry {
+
+    private static final SePayTransportRegistry SHARED = new SePayTransportRegistry();
+
+    private final ConcurrentMap<TransportKey, HttpClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an isolated registry. Most applications should use {@link #shared()}.
+     */
+    public SePayTransportRegistry() {
+    }
+
+    /**
+     * Returns the JVM-wide registry.
+     */
+    public static SePayTransportRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the HttpClient for the transport settings of the given config, creating it once.
+     *
+     * @param config the client configuration
+     * @return shared HttpClient
+     */
+    HttpClient httpClient(SePayClientConfig config) {
+        TransportKey key = new TransportKey(config);
+        return clients.computeIfAbsent(key, k ->
+            SePayHttpClient.newHttpClient(config, SePayHttpClient.resolveExecutor(config)));
+    }
+
+    /**
+     * Returns the number of distinct HttpClient instances held by this registry.
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Transport settings that require a distinct HttpClient.
+     */
+    private static final class TransportKey {
+
+        private final int connectTimeoutMs;
+        private final Executor executor;
+        private final boolean virtualThreads;
+        private final HttpClient.Version httpVersion;
+
+        TransportKey(SePayClientConfig config) {
+            this.connectTimeoutMs = config.getConnectTimeoutMs();
+            this.httpVersion = config.getHttpVersion();
+            this.executor = config.getExecutor();
+            this.virtualThreads = Objects.isNull(executor) && config.isVirtualThreads();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TransportKey)) {
+                return false;
+            }
+            TransportKey other = (TransportKey) o;
+            return connectTimeoutMs == other.connectTimeoutMs
+                && executor == other.executor
+                && virtualThreads == other.virtualThreads
+                && httpVersion == other.httpVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(connectTimeoutMs, System.identityHashCode(executor), virtualThreads, httpVersion);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package suprim.sepay.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket limiting outbound requests for one merchant.
+ *
+ * <p>Implemented as a generic cell rate algorithm: the bucket is a single "next free slot"
+ * timestamp updated by CAS, so acquiring a permit never takes a lock. Up to {@code burst}
+ * requests may be sent back to back; after that, requests are spaced at the current rate.
+ *
+ * <p>The rate adapts to server feedback (AIMD): every 429 halves it, down to a tenth of the
+ * configured rate, and each successful response adds back one percent of the configured rate.
+ * This keeps throughput near the server quota instead of oscillating around it.
+ */
+public final class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double MIN_RATE_FRACTION = 0.1;
+    private static final double INCREASE_FRACTION = 0.01;
+
+    private final double maxPermitsPerSecond;
+    private final double minPermitsPerSecond;
+    private final int burst;
+    private final LongSupplier nanoTime;
+
+    // Theoretical arrival time of the next permit, in nanoTime units
+    private final AtomicLong nextFreeNanos;
+    // Current rate, as Double bits so it can be updated by CAS
+    private final AtomicLong rateBits;
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param permitsPerSecond the maximum sustained rate
+     * @param burst            how many permits may be taken back to back
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    // For testing - allows injection of a fake clock
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.maxPermitsPerSecond = permitsPerSecond;
+        this.minPermitsPerSecond = permitsPerSecond * MIN_RATE_FRACTION;
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.nextFreeNanos = new AtomicLong(nanoTime.getAsLong());
+        this.rateBits = new AtomicLong(Double.doubleToLongBits(permitsPerSecond));
+    }
+
+    /**
+     * Takes a permit if one is available now.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryReserve() {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long interval = intervalNanos();
+            long tolerance = (burst - 1) * interval;
+            long current = nextFreeNanos.get();
+            long start = Math.max(current, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (nextFreeNanos.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit if one is available now.
+     *
+     * @return true if a permit was taken
+     */
+    public boolean tryAcquire() {
+        return tryReserve() == 0;
+    }
+
+    /**
+     * Takes a permit, waiting up to the given timeout for one to become available.
+     *
+     * @return true if a permit was taken, false if none became available in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = nanoTime.getAsLong() + unit.toNanos(timeout);
+        while (true) {
+            long wait = tryReserve();
+            if (wait == 0) {
+                return true;
+            }
+            if (nanoTime.getAsLong() + wait > deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while waiting for rate limit permit");
+            }
+        }
+    }
+
+    /**
+     * Signals a 429 response: halves the rate, down to the floor.
+     */
+    public void onRateLimited() {
+        updateRate(rate -> Math.max(minPermitsPerSecond, rate * DECREASE_FACTOR));
+    }
+
+    /**
+     * Signals a successful response: raises the rate additively, up to the configured rate.
+     */
+    public void onSuccess() {
+        updateRate(rate -> Math.min(maxPermitsPerSecond, rate + maxPermitsPerSecond * INCREASE_FRACTION));
+    }
+
+    /**
+     * Returns the current (adapted) rate in permits per second.
+     */
+    public double getPermitsPerSecond() {
+        return Double.longBitsToDouble(rateBits.get());
+    }
+
+    /**
+     * Returns the configured maximum rate in permits per second.
+     */
+    public double getMaxPermitsPerSecond() {
+        return maxPermitsPerSecond;
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / getPermitsPerSecond());
+    }
+
+    private void updateRate(DoubleUnaryOperator update) {
+        while (true) {
+            long bits = rateBits.get();
+            double next = update.applyAsDouble(Double.longBitsToDouble(bits));
+            if (Double.doubleToLongBits(next) == bits
+                || rateBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
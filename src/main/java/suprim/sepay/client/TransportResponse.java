@@ -0,0 +1,55 @@
+package suprim.sepay.client;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Status, headers and body of a response received by a {@link SePayTransport}.
+ */
+public final class TransportResponse {
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Collections.emptyMap(), (name, value) -> true);
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    /**
+     * Creates a response.
+     *
+     * @param statusCode the HTTP status code
+     * @param headers    the response headers, or null for none
+     * @param body       the response body, or null for an empty one
+     */
+    public TransportResponse(int statusCode, HttpHeaders headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.headers = isNull(headers) ? NO_HEADERS : headers;
+        this.body = isNull(body) ? EMPTY_BODY : body;
+    }
+
+    /**
+     * Creates a response from one received by {@link java.net.http.HttpClient}.
+     */
+    public static TransportResponse of(HttpResponse<byte[]> response) {
+        return new TransportResponse(response.statusCode(), response.headers(), response.body());
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the body bytes; not copied, so callers must not modify them.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+}
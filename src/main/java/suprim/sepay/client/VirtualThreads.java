@@ -0,0 +1,58 @@
+package suprim.sepay.client;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Virtual thread support.
+ *
+ * <p>This is the Java 11 baseline. On Java 21+ the multi-release jar replaces this class with a
+ * variant that calls {@code Executors.newVirtualThreadPerTaskExecutor()} directly. The factory is
+ * still looked up reflectively here so that exploded class directories (IDE runs, tests,
+ * benchmarks) get virtual threads on a Java 21 runtime too.
+ */
+final class VirtualThreads {
+
+    private static final MethodHandle FACTORY = findFactory();
+
+    private VirtualThreads() {
+        // Utility class
+    }
+
+    private static MethodHandle findFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class,
+                "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     */
+    static boolean isSupported() {
+        return nonNull(FACTORY);
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     *
+     * @return the executor, or null when virtual threads are not supported
+     */
+    static ExecutorService newExecutor() {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            return (ExecutorService) FACTORY.invoke();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package suprim.sepay.config;
+
+import java.net.URI;
+
+import static java.util.Objects.isNull;
+
+/**
+ * SePay API endpoint families, as defined by {@link UrlConfig}.
+ * Used as keys for per-endpoint resilience settings such as circuit breakers.
+ */
+public enum Endpoint {
+    CHECKOUT_INIT,
+    ORDER_DETAIL,
+    ORDER_LIST,
+    ORDER_VOID,
+    ORDER_CANCEL,
+    OTHER;
+
+    /**
+     * Classifies a request URI by its path. Host is ignored so custom base URLs classify the same.
+     *
+     * @param uri the request URI
+     * @return the endpoint family, or {@link #OTHER} if unknown
+     */
+    public static Endpoint of(URI uri) {
+        String path = isNull(uri) ? null : uri.getPath();
+        if (isNull(path)) {
+            return OTHER;
+        }
+        if (path.startsWith(UrlConfig.ORDER_DETAIL_PATH)) {
+            return ORDER_DETAIL;
+        }
+        if (path.equals(UrlConfig.VOID_PATH)) {
+            return ORDER_VOID;
+        }
+        if (path.equals(UrlConfig.CANCEL_PATH)) {
+            return ORDER_CANCEL;
+        }
+        if (path.equals(UrlConfig.ORDER_LIST_PATH)) {
+            return ORDER_LIST;
+        }
+        if (path.equals(UrlConfig.CHECKOUT_INIT_PATH)) {
+            return CHECKOUT_INIT;
+        }
+        return OTHER;
+    }
+}
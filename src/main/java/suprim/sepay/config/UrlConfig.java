@@ -16,6 +16,13 @@ public final class UrlConfig {
     // API version prefix
     private static final String API_VERSION = "/v1";
 
+    // Endpoint paths
+    static final String CHECKOUT_INIT_PATH = API_VERSION + "/checkout/init";
+    static final String ORDER_DETAIL_PATH = API_VERSION + "/order/detail/";
+    static final String ORDER_LIST_PATH = API_VERSION + "/order";
+    static final String VOID_PATH = API_VERSION + "/order/voidTransaction";
+    static final String CANCEL_PATH = API_VERSION + "/order/cancel";
+
     private UrlConfig() {
         // Utility class
     }
@@ -38,34 +45,34 @@ public final class UrlConfig {
      * Get checkout init URL.
      */
     public static String getCheckoutInitUrl(Environment environment) {
-        return getCheckoutBaseUrl(environment) + API_VERSION + "/checkout/init";
+        return getCheckoutBaseUrl(environment) + CHECKOUT_INIT_PATH;
     }
 
     /**
      * Get order detail URL.
      */
     public static String getOrderDetailUrl(Environment environment, String orderId) {
-        return getApiBaseUrl(environment) + API_VERSION + "/order/detail/" + orderId;
+        return getApiBaseUrl(environment) + ORDER_DETAIL_PATH + orderId;
     }
 
     /**
      * Get order list URL.
      */
     public static String getOrderListUrl(Environment environment) {
-        return getApiBaseUrl(environment) + API_VERSION + "/order";
+        return getApiBaseUrl(environment) + ORDER_LIST_PATH;
     }
 
     /**
      * Get void transaction URL.
      */
     public static String getVoidUrl(Environment environment) {
-        return getApiBaseUrl(environment) + API_VERSION + "/order/voidTransaction";
+        return getApiBaseUrl(environment) + VOID_PATH;
     }
 
     /**
      * Get cancel order URL.
      */
     public static String getCancelUrl(Environment environment) {
-        return getApiBaseUrl(environment) + API_VERSION + "/order/cancel";
+        return getApiBaseUrl(environment) + CANCEL_PATH;
     }
 }
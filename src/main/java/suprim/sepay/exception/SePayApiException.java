@@ -2,34 +2,44 @@ package suprim.sepay.exception;
 
 /**
  * Exception for SePay API errors with HTTP status code.
+ *
+ * <p>Besides the status code, carries what SePay reported about the error: its error code,
+ * the Retry-After delay and the request ID, each null if the response did not include it.
  */
 public class SePayApiException extends SePayException {
 
     private final int statusCode;
     private final String errorCode;
+    private final Long retryAfterSeconds;
+    private final String requestId;
 
     public SePayApiException(String message, int statusCode) {
-        super(message);
-        this.statusCode = statusCode;
-        this.errorCode = null;
+        this(message, statusCode, null, null, null);
     }
 
     public SePayApiException(String message, int statusCode, String errorCode) {
+        this(message, statusCode, errorCode, null, null);
+    }
+
+    public SePayApiException(String message, int statusCode, String errorCode, Long retryAfterSeconds,
+                             String requestId) {
         super(message);
         this.statusCode = statusCode;
         this.errorCode = errorCode;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.requestId = requestId;
     }
 
     public SePayApiException(String message, int statusCode, Throwable cause) {
-        super(message, cause);
-        this.statusCode = statusCode;
-        this.errorCode = null;
+        this(message, statusCode, null, cause);
     }
 
     public SePayApiException(String message, int statusCode, String errorCode, Throwable cause) {
         super(message, cause);
         this.statusCode = statusCode;
         this.errorCode = errorCode;
+        this.retryAfterSeconds = null;
+        this.requestId = null;
     }
 
     public int getStatusCode() {
@@ -39,4 +49,18 @@ public class SePayApiException extends SePayException {
     public String getErrorCode() {
         return errorCode;
     }
+
+    /**
+     * Returns how long SePay asked to wait before retrying, or null if it did not say.
+     */
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Returns the request ID SePay assigned to the failed call, for support requests, or null.
+     */
+    public String getRequestId() {
+        return requestId;
+    }
 }
@@ -0,0 +1,23 @@
+package suprim.sepay.exception;
+
+/**
+ * Exception thrown without contacting SePay because a concurrency limit was reached and no
+ * permit became free within the bulkhead timeout.
+ */
+public class SePayBulkheadFullException extends SePayException {
+
+    private final String endpoint;
+
+    public SePayBulkheadFullException(String message, String endpoint) {
+        super(message);
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns the endpoint family whose concurrency limit was reached, or null if the
+     * client-wide adaptive limit was reached.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
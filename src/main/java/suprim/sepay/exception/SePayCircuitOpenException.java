@@ -0,0 +1,21 @@
+package suprim.sepay.exception;
+
+/**
+ * Exception thrown without contacting SePay because the circuit breaker for the endpoint is open.
+ */
+public class SePayCircuitOpenException extends SePayException {
+
+    private final String endpoint;
+
+    public SePayCircuitOpenException(String message, String endpoint) {
+        super(message);
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns the endpoint family whose circuit is open.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -1,5 +1,7 @@
 package suprim.sepay.exception;
 
+import static java.util.Objects.nonNull;
+
 /**
  * Exception for 404 Not Found responses from SePay API.
  * Thrown when requested resource (order, transaction) doesn't exist.
@@ -10,6 +12,10 @@ public class SePayNotFoundException extends SePayApiException {
         super(message, 404, "NOT_FOUND");
     }
 
+    public SePayNotFoundException(String message, String errorCode, String requestId) {
+        super(message, 404, nonNull(errorCode) ? errorCode : "NOT_FOUND", null, requestId);
+    }
+
     public SePayNotFoundException(String message, Throwable cause) {
         super(message, 404, "NOT_FOUND", cause);
     }
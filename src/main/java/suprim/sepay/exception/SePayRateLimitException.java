@@ -5,24 +5,19 @@ package suprim.sepay.exception;
  */
 public class SePayRateLimitException extends SePayApiException {
 
-    private final Long retryAfterSeconds;
-
     public SePayRateLimitException(String message) {
         super(message, 429);
-        this.retryAfterSeconds = null;
     }
 
     public SePayRateLimitException(String message, Long retryAfterSeconds) {
-        super(message, 429);
-        this.retryAfterSeconds = retryAfterSeconds;
+        super(message, 429, null, retryAfterSeconds, null);
     }
 
-    public SePayRateLimitException(String message, Throwable cause) {
-        super(message, 429, cause);
-        this.retryAfterSeconds = null;
+    public SePayRateLimitException(String message, String errorCode, Long retryAfterSeconds, String requestId) {
+        super(message, 429, errorCode, retryAfterSeconds, requestId);
     }
 
-    public Long getRetryAfterSeconds() {
-        return retryAfterSeconds;
+    public SePayRateLimitException(String message, Throwable cause) {
+        super(message, 429, cause);
     }
 }
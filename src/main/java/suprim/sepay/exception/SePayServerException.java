@@ -9,6 +9,11 @@ public class SePayServerException extends SePayApiException {
         super(message, statusCode);
     }
 
+    public SePayServerException(String message, int statusCode, String errorCode, Long retryAfterSeconds,
+                                String requestId) {
+        super(message, statusCode, errorCode, retryAfterSeconds, requestId);
+    }
+
     public SePayServerException(String message, int statusCode, Throwable cause) {
         super(message, statusCode, cause);
     }
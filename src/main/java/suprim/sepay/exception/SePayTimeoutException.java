@@ -0,0 +1,17 @@
+package suprim.sepay.exception;
+
+/**
+ * Exception thrown when a call does not complete before the deadline of its
+ * {@link suprim.sepay.client.CallContext}. The cause, if any, is the error of the last
+ * attempt, made before a retry was skipped for lack of time.
+ */
+public class SePayTimeoutException extends SePayException {
+
+    public SePayTimeoutException(String message) {
+        super(message);
+    }
+
+    public SePayTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,280 @@
+package suprim.sepay.order;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Bounded read-through cache for {@link OrderResource#retrieve(String)}.
+ *
+ * <p>Orders in a terminal status ({@link OrderStatus#isTerminal()}) are kept for the terminal
+ * TTL, pending orders only for the short pending TTL. Reads are lock-free; once more than
+ * {@code maxSize} orders are cached the oldest entries are evicted first. Cancelling or voiding
+ * through the owning {@link OrderResource} refreshes the entry with the returned order, and a
+ * retrieve that started before the change cannot overwrite it with its older snapshot. A
+ * completed order voided outside this client stays cached as completed until the terminal TTL
+ * ends or {@link #invalidate(String)} is called.
+ *
+ * <p>Cached {@link Order} instances are shared between callers and should be treated as read-only.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * OrderCache cache = OrderCache.builder()
+ *     .maxSize(50_000)
+ *     .pendingTtl(2000)
+ *     .build();
+ *
+ * SePayClient client = SePayClient.create(SePayClient.builder(merchantId, secretKey)
+ *     .orderCache(cache)
+ *     .build());
+ * }</pre>
+ */
+public final class OrderCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final int DEFAULT_TERMINAL_TTL_MS = 24 * 60 * 60 * 1000;
+    private static final int DEFAULT_PENDING_TTL_MS = 5000;
+
+    private final int maxSize;
+    private final long terminalTtlNanos;
+    private final long pendingTtlNanos;
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order for eviction; holds stale nodes for replaced entries until polled
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // Stamps every write; a read may only cache its result if nothing newer was written or
+    // removed since it started
+    private final AtomicLong generation = new AtomicLong();
+    // Reads started before this generation may have fetched data older than a removed entry
+    private final AtomicLong floor = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private OrderCache(Builder builder, LongSupplier nanoTime) {
+        this.maxSize = builder.maxSize;
+        this.terminalTtlNanos = TimeUnit.MILLISECONDS.toNanos(builder.terminalTtlMs);
+        this.pendingTtlNanos = TimeUnit.MILLISECONDS.toNanos(builder.pendingTtlMs);
+        this.nanoTime = nanoTime;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the cached order, or null if absent or expired.
+     */
+    public Order get(String orderId) {
+        Entry entry = entries.get(orderId);
+        if (isNull(entry)) {
+            misses.increment();
+            return null;
+        }
+        if (nanoTime.getAsLong() - entry.expiresAtNanos >= 0) {
+            remove(entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.order;
+    }
+
+    /**
+     * Caches an order under its ID, with a TTL chosen by its status.
+     * Orders without an ID are ignored.
+     */
+    public void put(Order order) {
+        put(order, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the generation to pass to {@link #put(Order, long)} for an order about to be fetched.
+     */
+    long readGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches an order fetched by a read that started at {@code readGeneration}, unless the
+     * order was written, invalidated or evicted since; {@code Long.MAX_VALUE} always writes.
+     */
+    void put(Order order, long readGeneration) {
+        if (isNull(order) || isNull(order.getId())) {
+            return;
+        }
+        boolean terminal = nonNull(order.getStatus()) && order.getStatus().isTerminal();
+        long ttlNanos = terminal ? terminalTtlNanos : pendingTtlNanos;
+        boolean write = readGeneration == Long.MAX_VALUE;
+        if (ttlNanos <= 0) {
+            if (write) {
+                invalidate(order.getId());
+            }
+            return;
+        }
+        long stamp = write ? generation.incrementAndGet() : readGeneration;
+        Entry entry = new Entry(order.getId(), order, nanoTime.getAsLong() + ttlNanos, stamp);
+        Entry stored = entries.compute(entry.orderId, (id, current) -> {
+            if (!write && (readGeneration < floor.get() || (nonNull(current) && current.generation > readGeneration))) {
+                return current;
+            }
+            return entry;
+        });
+        if (stored == entry) {
+            insertionOrder.add(entry);
+            queued.incrementAndGet();
+            evict();
+        }
+    }
+
+    /**
+     * Removes an order, e.g. after it was changed outside this client.
+     */
+    public void invalidate(String orderId) {
+        // Raised before removing, so a read in flight cannot put its snapshot back
+        floor.accumulateAndGet(generation.incrementAndGet(), Math::max);
+        entries.remove(orderId);
+    }
+
+    /**
+     * Removes all orders.
+     */
+    public void invalidateAll() {
+        floor.accumulateAndGet(generation.incrementAndGet(), Math::max);
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached orders, including expired ones not yet removed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of orders dropped to stay within {@code maxSize}.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns hits divided by lookups, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void evict() {
+        if (queued.get() > 2 * maxSize) {
+            // Drop nodes of replaced or removed entries so they cannot pile up
+            insertionOrder.removeIf(node -> {
+                boolean stale = entries.get(node.orderId) != node;
+                if (stale) {
+                    queued.decrementAndGet();
+                }
+                return stale;
+            });
+        }
+        while (entries.size() > maxSize) {
+            Entry eldest = insertionOrder.poll();
+            if (isNull(eldest)) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (remove(eldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        floor.accumulateAndGet(entry.generation, Math::max);
+        return entries.remove(entry.orderId, entry);
+    }
+
+    private static final class Entry {
+        private final String orderId;
+        private final Order order;
+        private final long expiresAtNanos;
+        private final long generation;
+
+        Entry(String orderId, Order order, long expiresAtNanos, long generation) {
+            this.orderId = orderId;
+            this.order = order;
+            this.expiresAtNanos = expiresAtNanos;
+            this.generation = generation;
+        }
+    }
+
+    public static final class Builder {
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private int terminalTtlMs = DEFAULT_TERMINAL_TTL_MS;
+        private int pendingTtlMs = DEFAULT_PENDING_TTL_MS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of cached orders; oldest entries are evicted first.
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long completed, failed, voided and cancelled orders are cached (default: 24 hours).
+         */
+        public Builder terminalTtl(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("terminalTtl cannot be negative");
+            }
+            this.terminalTtlMs = ms;
+            return this;
+        }
+
+        /**
+         * Sets how long pending orders are cached (default: 5000ms). Use 0 to never cache them.
+         */
+        public Builder pendingTtl(int ms) {
+            if (ms < 0) {
+                throw new IllegalArgumentException("pendingTtl cannot be negative");
+            }
+            this.pendingTtlMs = ms;
+            return this;
+        }
+
+        public OrderCache build() {
+            return build(System::nanoTime);
+        }
+
+        // For testing - allows injection of a fake clock
+        OrderCache build(LongSupplier nanoTime) {
+            return new OrderCache(this, nanoTime);
+        }
+    }
+}
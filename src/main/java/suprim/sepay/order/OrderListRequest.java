@@ -72,6 +72,22 @@ public class OrderListRequest {
         return params;
     }
 
+    /**
+     * Returns a builder pre-filled with this request's parameters.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.perPage = perPage;
+        builder.page = page;
+        builder.query = query;
+        builder.customerId = customerId;
+        builder.orderStatus = orderStatus;
+        builder.fromCreatedAt = fromCreatedAt;
+        builder.toCreatedAt = toCreatedAt;
+        builder.sort = sort;
+        return builder;
+    }
+
     // Getters
     public Integer getPerPage() { return nonNull(perPage) ? perPage : DEFAULT_PER_PAGE; }
     public Integer getPage() { return nonNull(page) ? page : DEFAULT_PAGE; }
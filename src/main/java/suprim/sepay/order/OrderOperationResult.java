@@ -0,0 +1,58 @@
+package suprim.sepay.order;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Outcome of one order in a bulk operation such as {@link OrderResource#cancelAll}: either
+ * the updated order or the error that operation failed with.
+ */
+public final class OrderOperationResult {
+
+    private final String orderId;
+    private final Order order;
+    private final Throwable error;
+
+    private OrderOperationResult(String orderId, Order order, Throwable error) {
+        this.orderId = orderId;
+        this.order = order;
+        this.error = error;
+    }
+
+    static OrderOperationResult success(String orderId, Order order) {
+        return new OrderOperationResult(orderId, order, null);
+    }
+
+    static OrderOperationResult failure(String orderId, Throwable error) {
+        return new OrderOperationResult(orderId, null, error);
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public boolean isSuccess() {
+        return isNull(error);
+    }
+
+    /**
+     * Returns the updated order, or null if the operation failed.
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the failure, typically a {@link suprim.sepay.exception.SePayException}, or null on success.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderOperationResult{" +
+                "orderId='" + orderId + '\'' +
+                (isSuccess() ? ", success" : ", error=" + error) +
+                '}';
+    }
+}
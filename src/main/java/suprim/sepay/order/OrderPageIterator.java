@@ -0,0 +1,75 @@
+package suprim.sepay.order;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Iterates the orders of all pages of a list request, fetching pages on demand.
+ *
+ * <p>As soon as a page arrives the next one is requested in the background, so its latency
+ * overlaps with consuming the current page. At most the current page and one prefetched page
+ * are held at a time.
+ */
+final class OrderPageIterator implements Iterator<Order>, AutoCloseable {
+
+    private final OrderResource resource;
+    private final OrderListRequest request;
+    private Iterator<Order> current = Collections.emptyIterator();
+    private CompletableFuture<OrderListResponse> next;
+    private int nextPage;
+    private boolean started;
+
+    OrderPageIterator(OrderResource resource, OrderListRequest request) {
+        this.resource = resource;
+        this.request = request;
+        this.nextPage = request.getPage();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            next = fetch();
+        }
+        while (!current.hasNext()) {
+            if (isNull(next)) {
+                return false;
+            }
+            OrderListResponse response = OrderResource.await(next);
+            // An empty page ends the iteration even if the page count claims more
+            next = response.hasNextPage() && !response.getData().isEmpty() ? fetch() : null;
+            current = response.getData().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Order next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels the prefetch of the next page, if any.
+     */
+    @Override
+    public void close() {
+        if (nonNull(next)) {
+            next.cancel(false);
+            next = null;
+        }
+        current = Collections.emptyIterator();
+        started = true;
+    }
+
+    private CompletableFuture<OrderListResponse> fetch() {
+        return resource.listAsync(request.toBuilder().page(nextPage++).build());
+    }
+}
@@ -1,40 +1,172 @@
 package suprim.sepay.order;
 
+import suprim.sepay.client.CallContext;
 import suprim.sepay.client.SePayHttpClient;
 import suprim.sepay.config.Environment;
 import suprim.sepay.config.UrlConfig;
+import suprim.sepay.exception.SePayException;
 import suprim.sepay.exception.SePayValidationException;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * Resource for managing orders via SePay API.
  */
 public class OrderResource {
 
+    private static final int DEFAULT_BULK_CONCURRENCY = 8;
+
     private final SePayHttpClient httpClient;
     private final Environment environment;
+    private final OrderCache cache;
+    // Retrieves currently in flight, shared by concurrent callers asking for the same order
+    private final ConcurrentMap<String, CompletableFuture<Order>> inFlightRetrieves = new ConcurrentHashMap<>();
 
     public OrderResource(SePayHttpClient httpClient, Environment environment) {
+        this(httpClient, environment, null);
+    }
+
+    /**
+     * Creates an order resource that reads through the given cache.
+     *
+     * @param cache order cache, or null to always fetch from SePay
+     */
+    public OrderResource(SePayHttpClient httpClient, Environment environment, OrderCache cache) {
         this.httpClient = httpClient;
         this.environment = environment;
+        this.cache = cache;
     }
 
     /**
      * Retrieves a single order by ID.
+     * Concurrent retrieves of the same order share one HTTP call and its result.
      *
      * @param orderId the order ID
      * @return the order details
      */
     public Order retrieve(String orderId) {
         validateOrderId(orderId);
-        String url = UrlConfig.getOrderDetailUrl(environment, orderId);
-        return httpClient.get(url, Order.class);
+        Order cached = cachedOrder(orderId);
+        if (nonNull(cached)) {
+            return cached;
+        }
+        CompletableFuture<Order> flight = new CompletableFuture<>();
+        CompletableFuture<Order> existing = inFlightRetrieves.putIfAbsent(orderId, flight);
+        if (nonNull(existing)) {
+            return await(existing);
+        }
+        try {
+            long readGeneration = readGeneration();
+            Order order = httpClient.get(UrlConfig.getOrderDetailUrl(environment, orderId), Order.class);
+            cacheRead(order, readGeneration);
+            flight.complete(order);
+            return order;
+        } catch (Throwable e) {
+            // Any failure, Errors included, must release the callers waiting on this flight
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRetrieves.remove(orderId, flight);
+        }
+    }
+
+    /**
+     * Retrieves a single order by ID without blocking the calling thread.
+     * Concurrent retrieves of the same order share one HTTP call and its result.
+     *
+     * @param orderId the order ID
+     * @return future completing with the order details
+     */
+    public CompletableFuture<Order> retrieveAsync(String orderId) {
+        validateOrderId(orderId);
+        Order cached = cachedOrder(orderId);
+        if (nonNull(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Order> flight = new CompletableFuture<>();
+        CompletableFuture<Order> existing = inFlightRetrieves.putIfAbsent(orderId, flight);
+        if (isNull(existing)) {
+            long readGeneration = readGeneration();
+            httpClient.getAsync(UrlConfig.getOrderDetailUrl(environment, orderId), Order.class)
+                .whenComplete((order, error) -> {
+                    Throwable failure = error;
+                    if (isNull(failure)) {
+                        try {
+                            cacheRead(order, readGeneration);
+                        } catch (Throwable e) {
+                            failure = e;
+                        }
+                    }
+                    inFlightRetrieves.remove(orderId, flight);
+                    if (nonNull(failure)) {
+                        flight.completeExceptionally(failure);
+                    } else {
+                        flight.complete(order);
+                    }
+                });
+            existing = flight;
+        }
+        // A copy, so one caller cancelling or completing it cannot affect the others
+        return existing.copy();
+    }
+
+    /**
+     * Retrieves a single order by ID under a deadline and cancellation context.
+     * Unlike {@link #retrieve(String)}, the call is not shared with concurrent retrieves of
+     * the same order, so the context's deadline applies to this caller alone.
+     *
+     * @param orderId the order ID
+     * @param context deadline and cancellation for the call
+     * @return the order details
+     */
+    public Order retrieve(String orderId, CallContext context) {
+        validateOrderId(orderId);
+        Order cached = cachedOrder(orderId);
+        if (nonNull(cached)) {
+            return cached;
+        }
+        long readGeneration = readGeneration();
+        return cacheRead(httpClient.get(UrlConfig.getOrderDetailUrl(environment, orderId), Order.class, context),
+            readGeneration);
+    }
+
+    /**
+     * Retrieves a single order by ID under a deadline and cancellation context without
+     * blocking the calling thread. See {@link #retrieve(String, CallContext)}.
+     *
+     * @param orderId the order ID
+     * @param context deadline and cancellation for the call
+     * @return future completing with the order details
+     */
+    public CompletableFuture<Order> retrieveAsync(String orderId, CallContext context) {
+        validateOrderId(orderId);
+        Order cached = cachedOrder(orderId);
+        if (nonNull(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long readGeneration = readGeneration();
+        return httpClient.getAsync(UrlConfig.getOrderDetailUrl(environment, orderId), Order.class, context)
+            .thenApply(order -> cacheRead(order, readGeneration));
     }
 
     /**
@@ -53,9 +185,111 @@ public class OrderResource {
      * @return paginated order list
      */
     public OrderListResponse list(OrderListRequest request) {
-        String baseUrl = UrlConfig.getOrderListUrl(environment);
-        String url = appendQueryParams(baseUrl, request.toQueryParams());
-        return httpClient.get(url, OrderListResponse.class);
+        return httpClient.get(listUrl(request), OrderListResponse.class);
+    }
+
+    /**
+     * Lists orders with default parameters without blocking the calling thread.
+     *
+     * @return future completing with the paginated order list
+     */
+    public CompletableFuture<OrderListResponse> listAsync() {
+        return listAsync(OrderListRequest.builder().build());
+    }
+
+    /**
+     * Lists orders with custom filters without blocking the calling thread.
+     *
+     * @param request the list request parameters
+     * @return future completing with the paginated order list
+     */
+    public CompletableFuture<OrderListResponse> listAsync(OrderListRequest request) {
+        return httpClient.getAsync(listUrl(request), OrderListResponse.class);
+    }
+
+    /**
+     * Lists orders with custom filters under a deadline and cancellation context.
+     *
+     * @param request the list request parameters
+     * @param context deadline and cancellation for the call
+     * @return paginated order list
+     */
+    public OrderListResponse list(OrderListRequest request, CallContext context) {
+        return httpClient.get(listUrl(request), OrderListResponse.class, context);
+    }
+
+    /**
+     * Lists orders with custom filters under a deadline and cancellation context without
+     * blocking the calling thread.
+     *
+     * @param request the list request parameters
+     * @param context deadline and cancellation for the call
+     * @return future completing with the paginated order list
+     */
+    public CompletableFuture<OrderListResponse> listAsync(OrderListRequest request, CallContext context) {
+        return httpClient.getAsync(listUrl(request), OrderListResponse.class, context);
+    }
+
+    /**
+     * Lists the orders of all pages matching the request, starting at its page.
+     * Pages are fetched lazily while iterating, with the next page prefetched in the
+     * background; each call to {@code iterator()} starts a new pass.
+     *
+     * @param request the list request parameters
+     * @return lazy iterable over all matching orders
+     */
+    public Iterable<Order> listAll(OrderListRequest request) {
+        return () -> new OrderPageIterator(this, request);
+    }
+
+    /**
+     * Streams the orders of all pages matching the request, starting at its page.
+     * Pages are fetched lazily as the stream is consumed, with the next page prefetched in
+     * the background. Closing the stream cancels any outstanding prefetch.
+     *
+     * @param request the list request parameters
+     * @return lazy stream over all matching orders
+     */
+    public Stream<Order> streamAll(OrderListRequest request) {
+        OrderPageIterator iterator = new OrderPageIterator(this, request);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * Lists the orders of all pages matching the request, fetching pages concurrently.
+     * The first page is fetched alone to learn the page count; the rest are fetched with up
+     * to {@code parallelism} requests in flight, subject to the client's rate and concurrency
+     * limits. Each call to {@code iterator()} starts a new pass.
+     *
+     * @param request     the list request parameters
+     * @param parallelism maximum number of pages fetched or buffered at once
+     * @param ordered     true to yield pages in page order, false to yield them as they arrive
+     * @return lazy iterable over all matching orders
+     */
+    public Iterable<Order> listAll(OrderListRequest request, int parallelism, boolean ordered) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return () -> new ParallelPageIterator(this, request, parallelism, ordered);
+    }
+
+    /**
+     * Streams the orders of all pages matching the request, fetching pages concurrently.
+     * See {@link #listAll(OrderListRequest, int, boolean)}. Closing the stream cancels pages
+     * still in flight.
+     *
+     * @param request     the list request parameters
+     * @param parallelism maximum number of pages fetched or buffered at once
+     * @param ordered     true to yield pages in page order, false to yield them as they arrive
+     * @return lazy stream over all matching orders
+     */
+    public Stream<Order> streamAll(OrderListRequest request, int parallelism, boolean ordered) {
+        ParallelPageIterator iterator = new ParallelPageIterator(this, request, parallelism, ordered);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, ordered ? Spliterator.ORDERED : 0), false)
+            .onClose(iterator::close);
     }
 
     /**
@@ -79,7 +313,67 @@ public class OrderResource {
         validateOrderId(orderId);
         String url = UrlConfig.getVoidUrl(environment);
         VoidRequest request = new VoidRequest(orderId, reason);
-        return httpClient.post(url, request, Order.class);
+        invalidate(orderId);
+        return cacheOrder(httpClient.post(url, request, Order.class));
+    }
+
+    /**
+     * Voids a completed transaction without blocking the calling thread.
+     *
+     * @param orderId the order ID to void
+     * @return future completing with the updated order
+     */
+    public CompletableFuture<Order> voidTransactionAsync(String orderId) {
+        return voidTransactionAsync(orderId, null);
+    }
+
+    /**
+     * Voids a completed transaction with a reason without blocking the calling thread.
+     *
+     * @param orderId the order ID to void
+     * @param reason  optional reason for voiding
+     * @return future completing with the updated order
+     */
+    public CompletableFuture<Order> voidTransactionAsync(String orderId, String reason) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getVoidUrl(environment);
+        VoidRequest request = new VoidRequest(orderId, reason);
+        invalidate(orderId);
+        return httpClient.postAsync(url, request, Order.class).thenApply(this::cacheOrder);
+    }
+
+    /**
+     * Voids a completed transaction under a deadline and cancellation context. Retries that
+     * could not finish before the deadline are not sent.
+     *
+     * @param orderId the order ID to void
+     * @param reason  optional reason for voiding
+     * @param context deadline and cancellation for the call
+     * @return the updated order
+     */
+    public Order voidTransaction(String orderId, String reason, CallContext context) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getVoidUrl(environment);
+        VoidRequest request = new VoidRequest(orderId, reason);
+        invalidate(orderId);
+        return cacheOrder(httpClient.post(url, request, Order.class, context));
+    }
+
+    /**
+     * Voids a completed transaction under a deadline and cancellation context without
+     * blocking the calling thread.
+     *
+     * @param orderId the order ID to void
+     * @param reason  optional reason for voiding
+     * @param context deadline and cancellation for the call
+     * @return future completing with the updated order
+     */
+    public CompletableFuture<Order> voidTransactionAsync(String orderId, String reason, CallContext context) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getVoidUrl(environment);
+        VoidRequest request = new VoidRequest(orderId, reason);
+        invalidate(orderId);
+        return httpClient.postAsync(url, request, Order.class, context).thenApply(this::cacheOrder);
     }
 
     /**
@@ -92,7 +386,201 @@ public class OrderResource {
         validateOrderId(orderId);
         String url = UrlConfig.getCancelUrl(environment);
         CancelRequest request = new CancelRequest(orderId);
-        return httpClient.post(url, request, Order.class);
+        invalidate(orderId);
+        return cacheOrder(httpClient.post(url, request, Order.class));
+    }
+
+    /**
+     * Cancels a pending order without blocking the calling thread.
+     *
+     * @param orderId the order ID to cancel
+     * @return future completing with the updated order
+     */
+    public CompletableFuture<Order> cancelAsync(String orderId) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getCancelUrl(environment);
+        CancelRequest request = new CancelRequest(orderId);
+        invalidate(orderId);
+        return httpClient.postAsync(url, request, Order.class).thenApply(this::cacheOrder);
+    }
+
+    /**
+     * Cancels a pending order under a deadline and cancellation context. Retries that could
+     * not finish before the deadline are not sent.
+     *
+     * @param orderId the order ID to cancel
+     * @param context deadline and cancellation for the call
+     * @return the updated order
+     */
+    public Order cancel(String orderId, CallContext context) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getCancelUrl(environment);
+        CancelRequest request = new CancelRequest(orderId);
+        invalidate(orderId);
+        return cacheOrder(httpClient.post(url, request, Order.class, context));
+    }
+
+    /**
+     * Cancels a pending order under a deadline and cancellation context without blocking the
+     * calling thread.
+     *
+     * @param orderId the order ID to cancel
+     * @param context deadline and cancellation for the call
+     * @return future completing with the updated order
+     */
+    public CompletableFuture<Order> cancelAsync(String orderId, CallContext context) {
+        validateOrderId(orderId);
+        String url = UrlConfig.getCancelUrl(environment);
+        CancelRequest request = new CancelRequest(orderId);
+        invalidate(orderId);
+        return httpClient.postAsync(url, request, Order.class, context).thenApply(this::cacheOrder);
+    }
+
+    /**
+     * Cancels many pending orders with up to 8 requests in flight.
+     *
+     * @param orderIds the order IDs to cancel
+     * @return result per order ID, in input order
+     */
+    public Map<String, OrderOperationResult> cancelAll(Collection<String> orderIds) {
+        return cancelAll(orderIds, DEFAULT_BULK_CONCURRENCY);
+    }
+
+    /**
+     * Cancels many pending orders concurrently, subject to the client's rate and concurrency
+     * limits. A failed order does not stop the others; its error is reported in its result.
+     *
+     * @param orderIds    the order IDs to cancel; duplicates are cancelled once
+     * @param concurrency maximum number of cancel requests in flight
+     * @return result per order ID, in input order
+     */
+    public Map<String, OrderOperationResult> cancelAll(Collection<String> orderIds, int concurrency) {
+        return runAll(orderIds, concurrency, this::cancelAsync);
+    }
+
+    /**
+     * Voids many completed transactions with up to 8 requests in flight.
+     *
+     * @param orderIds the order IDs to void
+     * @return result per order ID, in input order
+     */
+    public Map<String, OrderOperationResult> voidAll(Collection<String> orderIds) {
+        return voidAll(orderIds, null, DEFAULT_BULK_CONCURRENCY);
+    }
+
+    /**
+     * Voids many completed transactions concurrently, subject to the client's rate and
+     * concurrency limits. A failed order does not stop the others; its error is reported in
+     * its result.
+     *
+     * @param orderIds    the order IDs to void; duplicates are voided once
+     * @param reason      optional reason for voiding, applied to every order
+     * @param concurrency maximum number of void requests in flight
+     * @return result per order ID, in input order
+     */
+    public Map<String, OrderOperationResult> voidAll(Collection<String> orderIds, String reason, int concurrency) {
+        return runAll(orderIds, concurrency, orderId -> voidTransactionAsync(orderId, reason));
+    }
+
+    private Map<String, OrderOperationResult> runAll(Collection<String> orderIds, int concurrency,
+                                                     Function<String, CompletableFuture<Order>> operation) {
+        if (isNull(orderIds)) {
+            throw new IllegalArgumentException("orderIds cannot be null");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        Map<String, CompletableFuture<OrderOperationResult>> results = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(concurrency);
+        for (String orderId : new LinkedHashSet<>(orderIds)) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SePayException("Interrupted while submitting bulk order operation", e);
+            }
+            CompletableFuture<Order> call;
+            try {
+                call = operation.apply(orderId);
+            } catch (RuntimeException e) {
+                // Synchronous validation failure, e.g. an empty order ID
+                call = CompletableFuture.failedFuture(e);
+            }
+            results.put(orderId, call.handle((order, error) -> {
+                permits.release();
+                return isNull(error) ? OrderOperationResult.success(orderId, order)
+                    : OrderOperationResult.failure(orderId, unwrap(error));
+            }));
+        }
+
+        Map<String, OrderOperationResult> outcome = new LinkedHashMap<>();
+        results.forEach((orderId, result) -> outcome.put(orderId, result.join()));
+        return outcome;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && nonNull(error.getCause()) ? error.getCause() : error;
+    }
+
+    /**
+     * Returns the order cache, or null if caching is disabled.
+     */
+    public OrderCache getCache() {
+        return cache;
+    }
+
+    private Order cachedOrder(String orderId) {
+        return nonNull(cache) ? cache.get(orderId) : null;
+    }
+
+    private Order cacheOrder(Order order) {
+        if (nonNull(cache)) {
+            cache.put(order);
+        }
+        return order;
+    }
+
+    private long readGeneration() {
+        return nonNull(cache) ? cache.readGeneration() : 0;
+    }
+
+    /**
+     * Caches an order fetched by a retrieve, unless it was changed since the retrieve started.
+     */
+    private Order cacheRead(Order order, long readGeneration) {
+        if (nonNull(cache)) {
+            cache.put(order, readGeneration);
+        }
+        return order;
+    }
+
+    private void invalidate(String orderId) {
+        if (nonNull(cache)) {
+            cache.invalidate(orderId);
+        }
+        // Later retrieves must not join one that started before the change
+        inFlightRetrieves.remove(orderId);
+    }
+
+    /**
+     * Waits for a future, rethrowing its failure as thrown. The wait can be interrupted.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SePayException("Interrupted while waiting for a response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
     }
 
     private void validateOrderId(String orderId) {
@@ -101,6 +589,11 @@ public class OrderResource {
         }
     }
 
+    private String listUrl(OrderListRequest request) {
+        String baseUrl = UrlConfig.getOrderListUrl(environment);
+        return appendQueryParams(baseUrl, request.toQueryParams());
+    }
+
     private String appendQueryParams(String baseUrl, Map<String, String> params) {
         if (isNull(params) || params.isEmpty()) {
             return baseUrl;
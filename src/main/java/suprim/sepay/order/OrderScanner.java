@@ -0,0 +1,239 @@
+package suprim.sepay.order;
+
+import suprim.sepay.exception.SePayException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Scans all orders created in a date range by splitting it into shards queried in parallel.
+ *
+ * <p>The range is cut into shards of {@code shardDays} days. A shard whose first page reports
+ * more than {@code maxShardTotal} orders is split in half and re-queried, down to single days,
+ * so no query needs deep pagination. Remaining pages of each shard are fetched concurrently,
+ * with at most {@code parallelism} requests in flight. Orders seen more than once within a
+ * shard, e.g. because they moved between pages during the scan, are emitted only once. Shards
+ * do not overlap by creation date, so each shard tracks only its own order IDs and memory
+ * stays bounded by the shards in progress rather than the size of the range.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * OrderScanner scanner = OrderScanner.builder(client.orders())
+ *     .filter(OrderListRequest.builder().status(OrderStatus.COMPLETED).perPage(100).build())
+ *     .parallelism(8)
+ *     .build();
+ *
+ * long count = scanner.scan(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), repository::save);
+ * }</pre>
+ */
+public final class OrderScanner {
+
+    private static final int DEFAULT_SHARD_DAYS = 7;
+    private static final int DEFAULT_MAX_SHARD_TOTAL = 1000;
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    private final OrderResource resource;
+    private final OrderListRequest filter;
+    private final int shardDays;
+    private final int maxShardTotal;
+    private final int parallelism;
+
+    private OrderScanner(Builder builder) {
+        this.resource = builder.resource;
+        this.filter = builder.filter;
+        this.shardDays = builder.shardDays;
+        this.maxShardTotal = builder.maxShardTotal;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * Creates a scanner builder.
+     *
+     * @param resource the order resource to query
+     * @return scanner builder
+     */
+    public static Builder builder(OrderResource resource) {
+        return new Builder(resource);
+    }
+
+    /**
+     * Emits every order created between {@code from} and {@code to}, both inclusive.
+     * The consumer is called on the calling thread, one order at a time.
+     *
+     * @param from     first creation date
+     * @param to       last creation date
+     * @param consumer receives each distinct order
+     * @return number of orders emitted
+     */
+    public long scan(LocalDate from, LocalDate to, Consumer<Order> consumer) {
+        if (isNull(from) || isNull(to) || to.isBefore(from)) {
+            throw new IllegalArgumentException("from and to must be set and from must not be after to");
+        }
+        if (isNull(consumer)) {
+            throw new IllegalArgumentException("consumer cannot be null");
+        }
+        ArrayDeque<Query> pending = new ArrayDeque<>();
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(shardDays)) {
+            LocalDate end = start.plusDays(shardDays - 1L);
+            pending.add(new Query(new Shard(start, end.isAfter(to) ? to : end), 1));
+        }
+
+        BlockingQueue<Query> completed = new LinkedBlockingQueue<>();
+        Set<Query> inFlight = new HashSet<>();
+        long emitted = 0;
+        try {
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (inFlight.size() < parallelism && !pending.isEmpty()) {
+                    Query query = pending.poll();
+                    query.response = resource.listAsync(query.toRequest(filter));
+                    query.response.whenComplete((response, error) -> completed.add(query));
+                    inFlight.add(query);
+                }
+                Query query = take(completed);
+                inFlight.remove(query);
+                OrderListResponse response = OrderResource.await(query.response);
+
+                Shard shard = query.shard;
+                if (query.page == 1) {
+                    if (response.getTotal() > maxShardTotal && shard.from.isBefore(shard.to)) {
+                        // Too big to page through: split and query both halves instead
+                        LocalDate mid = shard.from.plusDays(ChronoUnit.DAYS.between(shard.from, shard.to) / 2);
+                        pending.add(new Query(new Shard(shard.from, mid), 1));
+                        pending.add(new Query(new Shard(mid.plusDays(1), shard.to), 1));
+                        continue;
+                    }
+                    for (int page = 2; page <= response.getTotalPages(); page++) {
+                        pending.add(new Query(shard, page));
+                    }
+                }
+                for (Order order : response.getData()) {
+                    if (isNull(order.getId()) || shard.seen.add(order.getId())) {
+                        consumer.accept(order);
+                        emitted++;
+                    }
+                }
+            }
+        } finally {
+            // Only non-empty if the scan failed
+            inFlight.forEach(query -> query.response.cancel(false));
+        }
+        return emitted;
+    }
+
+    private static Query take(BlockingQueue<Query> completed) {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SePayException("Interrupted while scanning orders", e);
+        }
+    }
+
+    /**
+     * A date range queried page by page. Its IDs are dropped with it once its last query is done.
+     */
+    private static final class Shard {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Set<String> seen = new HashSet<>();
+
+        Shard(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * One page of one shard. Identity-based equality: each query is fetched once.
+     */
+    private static final class Query {
+        private final Shard shard;
+        private final int page;
+        private CompletableFuture<OrderListResponse> response;
+
+        Query(Shard shard, int page) {
+            this.shard = shard;
+            this.page = page;
+        }
+
+        OrderListRequest toRequest(OrderListRequest filter) {
+            return filter.toBuilder()
+                .fromDate(shard.from)
+                .toDate(shard.to)
+                .page(page)
+                .build();
+        }
+    }
+
+    public static final class Builder {
+        private final OrderResource resource;
+        private OrderListRequest filter = OrderListRequest.builder().build();
+        private int shardDays = DEFAULT_SHARD_DAYS;
+        private int maxShardTotal = DEFAULT_MAX_SHARD_TOTAL;
+        private int parallelism = DEFAULT_PARALLELISM;
+
+        private Builder(OrderResource resource) {
+            if (isNull(resource)) {
+                throw new IllegalArgumentException("resource cannot be null");
+            }
+            this.resource = resource;
+        }
+
+        /**
+         * Sets the other list filters and page size; its dates and page are replaced per query.
+         */
+        public Builder filter(OrderListRequest filter) {
+            if (isNull(filter)) {
+                throw new IllegalArgumentException("filter cannot be null");
+            }
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Sets the initial shard length in days (default: 7).
+         */
+        public Builder shardDays(int shardDays) {
+            if (shardDays <= 0) {
+                throw new IllegalArgumentException("shardDays must be positive");
+            }
+            this.shardDays = shardDays;
+            return this;
+        }
+
+        /**
+         * Sets the order count above which a shard is split further (default: 1000).
+         */
+        public Builder maxShardTotal(int maxShardTotal) {
+            if (maxShardTotal <= 0) {
+                throw new IllegalArgumentException("maxShardTotal must be positive");
+            }
+            this.maxShardTotal = maxShardTotal;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of list requests in flight (default: 4).
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public OrderScanner build() {
+            return new OrderScanner(this);
+        }
+    }
+}
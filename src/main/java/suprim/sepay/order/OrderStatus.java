@@ -25,6 +25,14 @@ public enum OrderStatus {
         return value;
     }
 
+    /**
+     * Returns true for statuses SePay settles on without further action (anything but PENDING).
+     * A COMPLETED order can still be voided by the merchant.
+     */
+    public boolean isTerminal() {
+        return this != PENDING;
+    }
+
     @JsonValue
     public String toJson() {
         return value;
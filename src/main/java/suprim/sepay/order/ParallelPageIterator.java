@@ -0,0 +1,133 @@
+package suprim.sepay.order;
+
+import suprim.sepay.exception.SePayException;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Iterates the orders of all pages of a list request, fetching up to {@code parallelism}
+ * pages concurrently once the first page has revealed the page count.
+ *
+ * <p>Another page is requested each time one is handed to the consumer, so at most
+ * {@code parallelism} pages are in flight or buffered. In ordered mode pages are yielded in page
+ * order; otherwise in the order they arrive. Requests go through the client like any other,
+ * so rate limits and concurrency limits apply. If a page fails, the pages still in flight are
+ * cancelled before the error is thrown, so callers that cannot close the iterator leak nothing.
+ */
+final class ParallelPageIterator implements Iterator<Order>, AutoCloseable {
+
+    private final OrderResource resource;
+    private final OrderListRequest request;
+    private final int parallelism;
+    private final boolean ordered;
+
+    // Launched pages in page order; in unordered mode also the set to cancel on close
+    private final ArrayDeque<CompletableFuture<OrderListResponse>> launched = new ArrayDeque<>();
+    // Unordered mode only: pages in the order they completed
+    private final BlockingQueue<CompletableFuture<OrderListResponse>> completed = new LinkedBlockingQueue<>();
+    private Iterator<Order> current = Collections.emptyIterator();
+    private int nextPage;
+    private int lastPage;
+    private int outstanding;
+    private boolean started;
+
+    ParallelPageIterator(OrderResource resource, OrderListRequest request, int parallelism, boolean ordered) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.resource = resource;
+        this.request = request;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return advance();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private boolean advance() {
+        if (!started) {
+            started = true;
+            int firstPage = request.getPage();
+            OrderListResponse response = OrderResource.await(fetch(firstPage));
+            nextPage = firstPage + 1;
+            lastPage = response.getData().isEmpty() ? firstPage : response.getTotalPages();
+            current = response.getData().iterator();
+            for (int i = 0; i < parallelism; i++) {
+                launchNext();
+            }
+        }
+        while (!current.hasNext()) {
+            if (outstanding == 0) {
+                return false;
+            }
+            CompletableFuture<OrderListResponse> page = ordered ? launched.poll() : takeCompleted();
+            if (!ordered) {
+                launched.remove(page);
+            }
+            outstanding--;
+            OrderListResponse response = OrderResource.await(page);
+            launchNext();
+            current = response.getData().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Order next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels all pages still in flight.
+     */
+    @Override
+    public void close() {
+        launched.forEach(page -> page.cancel(false));
+        launched.clear();
+        completed.clear();
+        outstanding = 0;
+        current = Collections.emptyIterator();
+        started = true;
+    }
+
+    private void launchNext() {
+        if (nextPage > lastPage) {
+            return;
+        }
+        CompletableFuture<OrderListResponse> page = fetch(nextPage++);
+        launched.add(page);
+        outstanding++;
+        if (!ordered) {
+            page.whenComplete((response, error) -> completed.add(page));
+        }
+    }
+
+    private CompletableFuture<OrderListResponse> takeCompleted() {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SePayException("Interrupted while waiting for order page", e);
+        }
+    }
+
+    private CompletableFuture<OrderListResponse> fetch(int page) {
+        return resource.listAsync(request.toBuilder().page(page).build());
+    }
+}
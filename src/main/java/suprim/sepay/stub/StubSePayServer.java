@@ -0,0 +1,578 @@
+package suprim.sepay.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import suprim.sepay.client.ApiErrorResponse;
+import suprim.sepay.client.SePayTransport;
+import suprim.sepay.client.TransportResponse;
+import suprim.sepay.config.Endpoint;
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListResponse;
+import suprim.sepay.order.OrderStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * In-process stand-in for the SePay API, for offline tests and load tests of an integration.
+ *
+ * <p>Plugged in as the client's transport, it answers the order detail, list, cancel and
+ * void endpoints from an in-memory order store, without any network I/O. The list endpoint
+ * applies the status, customer, query, creation date and sort parameters, so
+ * {@link suprim.sepay.order.OrderScanner} and {@link suprim.sepay.sync.OrderSync} can run
+ * against it. Responses can be delayed by a random latency, and a share of requests can be
+ * answered with 429 (with {@code Retry-After}) or 503, so retries, rate limiting and circuit
+ * breaking behave as they would against a struggling server. The host of request URLs is
+ * ignored. Checkout is not simulated: the SDK only builds the checkout form, which the
+ * customer's browser posts.
+ *
+ * <p>Each request draws its latency and fault from its own random stream, derived from the
+ * seed and the request's sequence number, so threads do not contend on a shared generator and
+ * the n-th request always behaves the same for a given seed.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * StubSePayServer server = StubSePayServer.builder()
+ *     .latency(20, 80)
+ *     .rateLimitRate(0.02)
+ *     .serverErrorRate(0.01)
+ *     .build();
+ * server.addOrder(order);
+ *
+ * SePayClient client = SePayClient.create(
+ *     SePayClient.builder("MERCHANT_ID", "SECRET_KEY").transport(server).build());
+ * }</pre>
+ */
+public final class StubSePayServer implements SePayTransport {
+
+    private static final String CONTENT_TYPE = "application/json";
+    private static final int DEFAULT_PER_PAGE = 20;
+    private static final String DEFAULT_SORT = "created_at:desc";
+    // Spreads consecutive sequence numbers across the seed space
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+    private static final long BODY_READ_TIMEOUT_SECONDS = 5;
+    private static final int MAX_CACHED_LISTINGS = 16;
+
+    private final int minLatencyMs;
+    private final int maxLatencyMs;
+    private final double rateLimitRate;
+    private final double serverErrorRate;
+    private final int retryAfterSeconds;
+    private final long seed;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper mapper;
+    private final ConcurrentNavigableMap<String, Order> orders = new ConcurrentSkipListMap<>();
+    // Bumped on every write, so cached listings can tell they are stale
+    private final AtomicLong storeVersion = new AtomicLong();
+    // Sorted matches of recent list queries, so paging through a result filters and sorts it once
+    private final Map<Map<String, String>, Listing> listings = Collections.synchronizedMap(
+        new LinkedHashMap<Map<String, String>, Listing>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Map<String, String>, Listing> eldest) {
+                return size() > MAX_CACHED_LISTINGS;
+            }
+        });
+    private final Map<Endpoint, LongAdder> requestCounts;
+
+    private StubSePayServer(Builder builder) {
+        this.minLatencyMs = builder.minLatencyMs;
+        this.maxLatencyMs = builder.maxLatencyMs;
+        this.rateLimitRate = builder.rateLimitRate;
+        this.serverErrorRate = builder.serverErrorRate;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.seed = nonNull(builder.seed) ? builder.seed : new SplittableRandom().nextLong();
+        this.mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Map<Endpoint, LongAdder> counts = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            counts.put(endpoint, new LongAdder());
+        }
+        this.requestCounts = Collections.unmodifiableMap(counts);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Adds or replaces an order; one without an ID is given a random one.
+     *
+     * @param order the order to store; a copy is kept
+     * @return the stored copy
+     */
+    public Order addOrder(Order order) {
+        if (isNull(order)) {
+            throw new IllegalArgumentException("order cannot be null");
+        }
+        Order stored = copy(order);
+        if (isNull(stored.getId())) {
+            stored.setId("ord_" + UUID.randomUUID().toString().replace("-", ""));
+        }
+        orders.put(stored.getId(), stored);
+        storeVersion.incrementAndGet();
+        return copy(stored);
+    }
+
+    /**
+     * Returns a copy of the stored order, or null if there is none with the ID.
+     */
+    public Order getOrder(String orderId) {
+        Order order = orders.get(orderId);
+        return nonNull(order) ? copy(order) : null;
+    }
+
+    /**
+     * Returns the number of requests received, including those answered with an error.
+     */
+    public long getRequestCount() {
+        return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of requests received for an endpoint family.
+     */
+    public long getRequestCount(Endpoint endpoint) {
+        return requestCounts.get(endpoint).sum();
+    }
+
+    @Override
+    public TransportResponse send(HttpRequest request) throws IOException, InterruptedException {
+        SplittableRandom random = nextRandom();
+        long latencyMs = nextLatencyMs(random);
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        return handle(request, random);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(HttpRequest request) {
+        SplittableRandom random = nextRandom();
+        long latencyMs = nextLatencyMs(random);
+        if (latencyMs == 0) {
+            try {
+                return CompletableFuture.completedFuture(handle(request, random));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (response.isDone()) {
+                // Cancelled while waiting
+                return;
+            }
+            try {
+                response.complete(handle(request, random));
+            } catch (IOException | RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+        return response;
+    }
+
+    private SplittableRandom nextRandom() {
+        return new SplittableRandom(seed + sequence.getAndIncrement() * SEED_INCREMENT);
+    }
+
+    private long nextLatencyMs(SplittableRandom random) {
+        if (maxLatencyMs == 0) {
+            return 0;
+        }
+        return minLatencyMs + random.nextInt(maxLatencyMs - minLatencyMs + 1);
+    }
+
+    private TransportResponse handle(HttpRequest request, SplittableRandom random) throws IOException {
+        Endpoint endpoint = Endpoint.of(request.uri());
+        requestCounts.get(endpoint).increment();
+
+        double fault = random.nextDouble();
+        if (fault < rateLimitRate) {
+            return error(429, "RATE_LIMITED", "Too many requests",
+                Map.of("Retry-After", List.of(Integer.toString(retryAfterSeconds))));
+        }
+        if (fault < rateLimitRate + serverErrorRate) {
+            return error(503, "SERVICE_UNAVAILABLE", "Service temporarily unavailable", Map.of());
+        }
+        if (request.headers().firstValue("Authorization").filter(value -> value.startsWith("Basic ")).isEmpty()) {
+            return error(401, "UNAUTHORIZED", "Missing or invalid credentials", Map.of());
+        }
+
+        String method = request.method();
+        switch (endpoint) {
+            case ORDER_DETAIL:
+                return "GET".equals(method) ? orderDetail(request) : methodNotAllowed();
+            case ORDER_LIST:
+                return "GET".equals(method) ? orderList(request) : methodNotAllowed();
+            case ORDER_CANCEL:
+                return "POST".equals(method)
+                    ? transition(request, OrderStatus.PENDING, OrderStatus.CANCELLED) : methodNotAllowed();
+            case ORDER_VOID:
+                return "POST".equals(method)
+                    ? transition(request, OrderStatus.COMPLETED, OrderStatus.VOIDED) : methodNotAllowed();
+            default:
+                return error(404, "NOT_FOUND", "Unknown endpoint " + request.uri().getPath(), Map.of());
+        }
+    }
+
+    private TransportResponse orderDetail(HttpRequest request) throws JsonProcessingException {
+        String path = request.uri().getPath();
+        Order order = orders.get(path.substring(path.lastIndexOf('/') + 1));
+        if (isNull(order)) {
+            return error(404, "NOT_FOUND", "Order not found", Map.of());
+        }
+        return ok(order);
+    }
+
+    private TransportResponse orderList(HttpRequest request) throws JsonProcessingException {
+        Map<String, String> params = parseForm(request.uri().getRawQuery());
+        int page;
+        int perPage;
+        try {
+            page = Math.max(1, Integer.parseInt(params.getOrDefault("page", "1")));
+            perPage = Math.max(1, Integer.parseInt(params.getOrDefault("per_page", String.valueOf(DEFAULT_PER_PAGE))));
+        } catch (NumberFormatException e) {
+            return error(400, "INVALID_PARAM", "page and per_page must be numbers", Map.of());
+        }
+        LocalDate fromDate;
+        LocalDate toDate;
+        Comparator<Order> order;
+        try {
+            fromDate = parseDate(params.get("from_created_at"));
+            toDate = parseDate(params.get("to_created_at"));
+            order = comparator(params.getOrDefault("sort", DEFAULT_SORT));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return error(400, "INVALID_PARAM", e.getMessage(), Map.of());
+        }
+        List<Order> matching = matching(params, fromDate, toDate, order);
+        int from = (int) Math.min(matching.size(), (long) (page - 1) * perPage);
+        int to = Math.min(matching.size(), from + perPage);
+        OrderListResponse response = new OrderListResponse();
+        response.setData(new ArrayList<>(matching.subList(from, to)));
+        response.setTotal(matching.size());
+        response.setPage(page);
+        response.setPerPage(perPage);
+        response.setTotalPages((matching.size() + perPage - 1) / perPage);
+        return ok(response);
+    }
+
+    /**
+     * Returns the orders matching a list query's filters, in its sort order. The result is
+     * kept until the next write, so fetching the following pages does not redo the work.
+     */
+    private List<Order> matching(Map<String, String> params, LocalDate fromDate, LocalDate toDate,
+                                 Comparator<Order> order) {
+        Map<String, String> query = new TreeMap<>(params);
+        query.remove("page");
+        query.remove("per_page");
+        // Read before filtering: a write made meanwhile leaves this listing stale, not wrong
+        long version = storeVersion.get();
+        Listing cached = listings.get(query);
+        if (nonNull(cached) && cached.version == version) {
+            return cached.orders;
+        }
+
+        String status = params.get("order_status");
+        String customerId = params.get("customer_id");
+        String text = params.get("query");
+        List<Order> matching = orders.values().stream()
+            .filter(o -> isNull(status) || (nonNull(o.getStatus()) && o.getStatus().getValue().equals(status)))
+            .filter(o -> isNull(customerId) || customerId.equals(o.getCustomerId()))
+            .filter(o -> isNull(text) || text.isEmpty() || matchesQuery(o, text))
+            .filter(o -> isNull(fromDate) || (nonNull(o.getCreatedAt()) && !o.getCreatedAt().toLocalDate().isBefore(fromDate)))
+            .filter(o -> isNull(toDate) || (nonNull(o.getCreatedAt()) && !o.getCreatedAt().toLocalDate().isAfter(toDate)))
+            .sorted(order)
+            .collect(Collectors.toUnmodifiableList());
+        listings.put(query, new Listing(version, matching));
+        return matching;
+    }
+
+    /**
+     * Moves an order from one status to another, as cancel and void do.
+     */
+    private TransportResponse transition(HttpRequest request, OrderStatus from, OrderStatus to) throws IOException {
+        JsonNode body = mapper.readTree(readBody(request));
+        String orderId = body.path("order_id").asText(null);
+        if (isNull(orderId) || orderId.isEmpty()) {
+            return error(400, "INVALID_PARAM", "order_id is required", Map.of());
+        }
+        Order[] updated = new Order[1];
+        Order current = orders.computeIfPresent(orderId, (id, order) -> {
+            if (order.getStatus() != from) {
+                return order;
+            }
+            Order next = copy(order);
+            next.setStatus(to);
+            next.setUpdatedAt(LocalDateTime.now());
+            updated[0] = next;
+            return next;
+        });
+        if (nonNull(updated[0])) {
+            storeVersion.incrementAndGet();
+        }
+        if (isNull(current)) {
+            return error(404, "NOT_FOUND", "Order not found", Map.of());
+        }
+        if (isNull(updated[0])) {
+            return error(400, "INVALID_STATUS",
+                "Order is " + (nonNull(current.getStatus()) ? current.getStatus().getValue() : "unknown")
+                    + ", expected " + from.getValue(), Map.of());
+        }
+        return ok(updated[0]);
+    }
+
+    private static LocalDate parseDate(String value) {
+        return isNull(value) || value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    private static boolean matchesQuery(Order order, String query) {
+        String needle = query.toLowerCase();
+        return containsIgnoreCase(order.getId(), needle)
+            || containsIgnoreCase(order.getInvoiceNumber(), needle)
+            || containsIgnoreCase(order.getDescription(), needle);
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerCaseNeedle) {
+        return nonNull(value) && value.toLowerCase().contains(lowerCaseNeedle);
+    }
+
+    /**
+     * Parses a {@code field:direction} sort, e.g. {@code created_at:desc}. Orders missing the
+     * field come last; ties are broken by ID so pages never overlap.
+     */
+    private static Comparator<Order> comparator(String sort) {
+        int separator = sort.indexOf(':');
+        String field = separator < 0 ? sort : sort.substring(0, separator);
+        String direction = separator < 0 ? "asc" : sort.substring(separator + 1);
+        if (!"asc".equals(direction) && !"desc".equals(direction)) {
+            throw new IllegalArgumentException("Unsupported sort direction: " + direction);
+        }
+        boolean descending = "desc".equals(direction);
+        Comparator<Order> byId = by(Order::getId, descending);
+        switch (field) {
+            case "created_at":
+                return by(Order::getCreatedAt, descending).thenComparing(byId);
+            case "updated_at":
+                return by(Order::getUpdatedAt, descending).thenComparing(byId);
+            case "amount":
+                return by(Order::getAmount, descending).thenComparing(byId);
+            case "id":
+                return byId;
+            default:
+                throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Order> by(Function<Order, T> key, boolean descending) {
+        return (a, b) -> {
+            T left = key.apply(a);
+            T right = key.apply(b);
+            if (isNull(left) || isNull(right)) {
+                // Missing values last in either direction
+                return isNull(left) ? (isNull(right) ? 0 : 1) : -1;
+            }
+            int result = left.compareTo(right);
+            return descending ? -result : result;
+        };
+    }
+
+    private byte[] readBody(HttpRequest request) throws IOException {
+        if (request.bodyPublisher().isEmpty()) {
+            return new byte[0];
+        }
+        CompletableFuture<byte[]> body = new CompletableFuture<>();
+        request.bodyPublisher().get().subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                bytes.write(chunk, 0, chunk.length);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                body.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete(bytes.toByteArray());
+            }
+        });
+        try {
+            return body.get(BODY_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Failed to read request body", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading request body", e);
+        }
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> fields = new HashMap<>();
+        if (isNull(encoded) || encoded.isEmpty()) {
+            return fields;
+        }
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            fields.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return fields;
+    }
+
+    private static final class Listing {
+        private final long version;
+        private final List<Order> orders;
+
+        Listing(long version, List<Order> orders) {
+            this.version = version;
+            this.orders = orders;
+        }
+    }
+
+    private Order copy(Order order) {
+        return mapper.convertValue(order, Order.class);
+    }
+
+    private TransportResponse ok(Object body) throws JsonProcessingException {
+        return new TransportResponse(200, jsonHeaders(Map.of()), mapper.writeValueAsBytes(body));
+    }
+
+    private TransportResponse methodNotAllowed() throws JsonProcessingException {
+        return error(405, "METHOD_NOT_ALLOWED", "Method not allowed", Map.of());
+    }
+
+    private TransportResponse error(int statusCode, String errorCode, String message,
+                                    Map<String, List<String>> headers) throws JsonProcessingException {
+        return new TransportResponse(statusCode, jsonHeaders(headers),
+            mapper.writeValueAsBytes(new ApiErrorResponse(errorCode, message)));
+    }
+
+    private static HttpHeaders jsonHeaders(Map<String, List<String>> extra) {
+        Map<String, List<String>> headers = new HashMap<>(extra);
+        headers.put("Content-Type", List.of(CONTENT_TYPE));
+        headers.put("X-Request-Id", List.of(UUID.randomUUID().toString()));
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+
+    public static final class Builder {
+        private int minLatencyMs;
+        private int maxLatencyMs;
+        private double rateLimitRate;
+        private double serverErrorRate;
+        private int retryAfterSeconds = 1;
+        private Long seed;
+
+        private Builder() {
+        }
+
+        /**
+         * Delays each response by a uniformly random time between the bounds (default: none).
+         */
+        public Builder latency(int minMs, int maxMs) {
+            if (minMs < 0 || maxMs < minMs) {
+                throw new IllegalArgumentException("latency bounds must satisfy 0 <= minMs <= maxMs");
+            }
+            this.minLatencyMs = minMs;
+            this.maxLatencyMs = maxMs;
+            return this;
+        }
+
+        /**
+         * Sets the share of requests answered with 429 Too Many Requests (default: 0).
+         */
+        public Builder rateLimitRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("rateLimitRate must be between 0 and 1");
+            }
+            this.rateLimitRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the share of requests answered with 503 Service Unavailable (default: 0).
+         */
+        public Builder serverErrorRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("serverErrorRate must be between 0 and 1");
+            }
+            this.serverErrorRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the Retry-After sent with 429 responses (default: 1 second).
+         */
+        public Builder retryAfter(int seconds) {
+            if (seconds < 0) {
+                throw new IllegalArgumentException("retryAfter cannot be negative");
+            }
+            this.retryAfterSeconds = seconds;
+            return this;
+        }
+
+        /**
+         * Seeds the latency and fault choices so a run can be repeated.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public StubSePayServer build() {
+            if (rateLimitRate + serverErrorRate > 1) {
+                throw new IllegalArgumentException("rateLimitRate and serverErrorRate cannot add up to more than 1");
+            }
+            return new StubSePayServer(this);
+        }
+    }
+}
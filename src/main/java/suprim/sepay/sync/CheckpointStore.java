@@ -0,0 +1,17 @@
+package suprim.sepay.sync;
+
+/**
+ * Persists the {@link SyncCheckpoint} of an {@link OrderSync} between runs.
+ */
+public interface CheckpointStore {
+
+    /**
+     * Returns the last saved checkpoint, or {@link SyncCheckpoint#empty()} if none was saved.
+     */
+    SyncCheckpoint load();
+
+    /**
+     * Saves the checkpoint, replacing the previous one.
+     */
+    void save(SyncCheckpoint checkpoint);
+}
@@ -0,0 +1,99 @@
+package suprim.sepay.sync;
+
+import suprim.sepay.exception.SePayException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Stores the checkpoint in a properties file, replaced atomically on save where the file
+ * system supports it.
+ */
+public final class FileCheckpointStore implements CheckpointStore {
+
+    private static final String CREATED_HIGH_WATER = "createdHighWater";
+    private static final String UPDATED_HIGH_WATER = "updatedHighWater";
+    private static final String IDS_AT_UPDATED_HIGH_WATER = "idsAtUpdatedHighWater";
+    private static final String UNDATED_IDS = "undatedIds";
+
+    private final Path file;
+
+    public FileCheckpointStore(Path file) {
+        if (isNull(file)) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        this.file = file;
+    }
+
+    @Override
+    public SyncCheckpoint load() {
+        if (!Files.exists(file)) {
+            return SyncCheckpoint.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new SePayException("Failed to read sync checkpoint: " + file, e);
+        }
+        return new SyncCheckpoint(
+            parse(properties.getProperty(CREATED_HIGH_WATER)),
+            parse(properties.getProperty(UPDATED_HIGH_WATER)),
+            parseIds(properties.getProperty(IDS_AT_UPDATED_HIGH_WATER, "")),
+            parseIds(properties.getProperty(UNDATED_IDS, "")));
+    }
+
+    @Override
+    public void save(SyncCheckpoint checkpoint) {
+        Properties properties = new Properties();
+        if (nonNull(checkpoint.getCreatedHighWater())) {
+            properties.setProperty(CREATED_HIGH_WATER, checkpoint.getCreatedHighWater().toString());
+        }
+        if (nonNull(checkpoint.getUpdatedHighWater())) {
+            properties.setProperty(UPDATED_HIGH_WATER, checkpoint.getUpdatedHighWater().toString());
+        }
+        properties.setProperty(IDS_AT_UPDATED_HIGH_WATER, String.join(",", checkpoint.getIdsAtUpdatedHighWater()));
+        properties.setProperty(UNDATED_IDS, String.join(",", checkpoint.getUndatedIds()));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "SePay order sync checkpoint");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new SePayException("Failed to write sync checkpoint: " + file, e);
+        }
+    }
+
+    private static Set<String> parseIds(String ids) {
+        Set<String> idSet = new LinkedHashSet<>();
+        if (!ids.isEmpty()) {
+            idSet.addAll(Arrays.asList(ids.split(",")));
+        }
+        return idSet;
+    }
+
+    private static LocalDateTime parse(String value) {
+        return isNull(value) || value.isEmpty() ? null : LocalDateTime.parse(value);
+    }
+}
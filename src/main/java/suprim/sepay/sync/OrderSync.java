@@ -0,0 +1,236 @@
+package suprim.sepay.sync;
+
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListRequest;
+import suprim.sepay.order.OrderResource;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Mirrors SePay orders incrementally: each run emits only orders that are new or changed
+ * since the previous run.
+ *
+ * <p>A run lists orders created since the last seen creation time minus {@code lookbackDays},
+ * the window in which an order may still change status, and emits those whose
+ * {@code updated_at} (or {@code created_at} if never updated) is newer than the saved
+ * high-water mark. Orders with neither timestamp are emitted once, tracked by ID. The
+ * checkpoint is saved only after the callback has accepted every order of the run, so a
+ * failed run is repeated in full: delivery is at-least-once.
+ *
+ * <p>Pages are read one after another, so an order can change after its page was read. The
+ * saved high-water mark therefore never passes the run's start time minus
+ * {@code safetyMargin}; orders changed more recently are emitted again on the next run.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * OrderSync sync = OrderSync.builder(client.orders())
+ *     .checkpointStore(new FileCheckpointStore(Paths.get("/var/lib/app/sepay-sync.properties")))
+ *     .lookbackDays(7)
+ *     .build();
+ *
+ * // e.g. every minute
+ * sync.run(repository::upsert);
+ * }</pre>
+ */
+public final class OrderSync {
+
+    private static final Path DEFAULT_CHECKPOINT_FILE = Paths.get("sepay-order-sync.properties");
+    private static final int DEFAULT_LOOKBACK_DAYS = 7;
+    private static final Duration DEFAULT_SAFETY_MARGIN = Duration.ofMinutes(5);
+
+    private final OrderResource orders;
+    private final CheckpointStore checkpointStore;
+    private final OrderListRequest filter;
+    private final int lookbackDays;
+    private final LocalDate initialFromDate;
+    private final Duration safetyMargin;
+    private final Clock clock;
+
+    private OrderSync(Builder builder) {
+        this.orders = builder.orders;
+        this.checkpointStore = nonNull(builder.checkpointStore) ? builder.checkpointStore
+            : new FileCheckpointStore(DEFAULT_CHECKPOINT_FILE);
+        this.filter = builder.filter;
+        this.lookbackDays = builder.lookbackDays;
+        this.initialFromDate = builder.initialFromDate;
+        this.safetyMargin = builder.safetyMargin;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Creates a sync builder.
+     *
+     * @param orders the order resource to poll
+     * @return sync builder
+     */
+    public static Builder builder(OrderResource orders) {
+        return new Builder(orders);
+    }
+
+    /**
+     * Emits orders created or changed since the last run, then saves the new checkpoint.
+     *
+     * @param onChange receives each new or changed order
+     * @return number of orders emitted
+     */
+    public int run(Consumer<Order> onChange) {
+        if (isNull(onChange)) {
+            throw new IllegalArgumentException("onChange cannot be null");
+        }
+        // Changes after this point may have been missed on pages already read
+        LocalDateTime settledBefore = LocalDateTime.now(clock).minus(safetyMargin);
+        SyncCheckpoint checkpoint = checkpointStore.load();
+        LocalDateTime lastUpdated = checkpoint.getUpdatedHighWater();
+        Set<String> seenAtLastUpdated = checkpoint.getIdsAtUpdatedHighWater();
+
+        LocalDateTime createdHighWater = checkpoint.getCreatedHighWater();
+        LocalDateTime updatedHighWater = lastUpdated;
+        Set<String> idsAtUpdatedHighWater = new HashSet<>(seenAtLastUpdated);
+        Set<String> emittedUndated = checkpoint.getUndatedIds();
+        // Only those still listed are kept, so the set cannot outgrow the lookback window
+        Set<String> undatedIds = new HashSet<>();
+        int emitted = 0;
+
+        for (Order order : orders.listAll(listRequest(checkpoint))) {
+            LocalDateTime changedAt = nonNull(order.getUpdatedAt()) ? order.getUpdatedAt() : order.getCreatedAt();
+            boolean changed;
+            if (isNull(changedAt)) {
+                changed = isNull(order.getId()) || !emittedUndated.contains(order.getId());
+                if (nonNull(order.getId())) {
+                    undatedIds.add(order.getId());
+                }
+            } else {
+                changed = isNull(lastUpdated) || changedAt.isAfter(lastUpdated)
+                    || (changedAt.isEqual(lastUpdated) && !seenAtLastUpdated.contains(order.getId()));
+            }
+            if (changed) {
+                onChange.accept(order);
+                emitted++;
+            }
+
+            if (nonNull(order.getCreatedAt())
+                    && (isNull(createdHighWater) || order.getCreatedAt().isAfter(createdHighWater))) {
+                createdHighWater = order.getCreatedAt();
+            }
+            if (nonNull(changedAt) && !changedAt.isAfter(settledBefore)) {
+                if (isNull(updatedHighWater) || changedAt.isAfter(updatedHighWater)) {
+                    updatedHighWater = changedAt;
+                    idsAtUpdatedHighWater.clear();
+                }
+                if (changedAt.isEqual(updatedHighWater) && nonNull(order.getId())) {
+                    idsAtUpdatedHighWater.add(order.getId());
+                }
+            }
+        }
+
+        checkpointStore.save(new SyncCheckpoint(createdHighWater, updatedHighWater, idsAtUpdatedHighWater, undatedIds));
+        return emitted;
+    }
+
+    private OrderListRequest listRequest(SyncCheckpoint checkpoint) {
+        LocalDate fromDate = initialFromDate;
+        if (nonNull(checkpoint.getCreatedHighWater())) {
+            LocalDate lookbackStart = checkpoint.getCreatedHighWater().toLocalDate().minusDays(lookbackDays);
+            if (isNull(fromDate) || lookbackStart.isAfter(fromDate)) {
+                fromDate = lookbackStart;
+            }
+        }
+        OrderListRequest.Builder builder = filter.toBuilder().page(1);
+        if (nonNull(fromDate)) {
+            builder.fromDate(fromDate);
+        }
+        return builder.build();
+    }
+
+    public static final class Builder {
+        private final OrderResource orders;
+        private CheckpointStore checkpointStore;
+        private OrderListRequest filter = OrderListRequest.builder().build();
+        private int lookbackDays = DEFAULT_LOOKBACK_DAYS;
+        private LocalDate initialFromDate;
+        private Duration safetyMargin = DEFAULT_SAFETY_MARGIN;
+        private Clock clock = Clock.systemDefaultZone();
+
+        private Builder(OrderResource orders) {
+            if (isNull(orders)) {
+                throw new IllegalArgumentException("orders cannot be null");
+            }
+            this.orders = orders;
+        }
+
+        /**
+         * Sets where the checkpoint is kept
+         * (default: {@code sepay-order-sync.properties} in the working directory).
+         */
+        public Builder checkpointStore(CheckpointStore checkpointStore) {
+            if (isNull(checkpointStore)) {
+                throw new IllegalArgumentException("checkpointStore cannot be null");
+            }
+            this.checkpointStore = checkpointStore;
+            return this;
+        }
+
+        /**
+         * Sets other list filters and the page size; the creation date filter is managed by the sync.
+         */
+        public Builder filter(OrderListRequest filter) {
+            if (isNull(filter)) {
+                throw new IllegalArgumentException("filter cannot be null");
+            }
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Sets how many days before the newest seen order to re-list, covering orders that can
+         * still change status (default: 7).
+         */
+        public Builder lookbackDays(int lookbackDays) {
+            if (lookbackDays < 0) {
+                throw new IllegalArgumentException("lookbackDays cannot be negative");
+            }
+            this.lookbackDays = lookbackDays;
+            return this;
+        }
+
+        /**
+         * Sets the earliest creation date to sync; by default the first run lists all orders.
+         */
+        public Builder initialFromDate(LocalDate initialFromDate) {
+            this.initialFromDate = initialFromDate;
+            return this;
+        }
+
+        /**
+         * Sets how far behind the run's start time the saved update high-water mark stays,
+         * covering clock skew between this host and SePay (default: 5 minutes).
+         */
+        public Builder safetyMargin(Duration safetyMargin) {
+            if (isNull(safetyMargin) || safetyMargin.isNegative()) {
+                throw new IllegalArgumentException("safetyMargin cannot be null or negative");
+            }
+            this.safetyMargin = safetyMargin;
+            return this;
+        }
+
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public OrderSync build() {
+            return new OrderSync(this);
+        }
+    }
+}
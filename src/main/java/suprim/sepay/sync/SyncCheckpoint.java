@@ -0,0 +1,89 @@
+package suprim.sepay.sync;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Progress of an {@link OrderSync}: the newest creation and update times seen so far.
+ *
+ * <p>Orders updated exactly at the update high-water mark are remembered by ID, so an order
+ * sharing that timestamp but not yet seen is still emitted on the next run. Orders with
+ * neither an update nor a creation time cannot be placed against the marks, so their IDs are
+ * remembered instead and each is emitted once.
+ */
+public final class SyncCheckpoint {
+
+    private static final SyncCheckpoint EMPTY =
+        new SyncCheckpoint(null, null, Collections.emptySet(), Collections.emptySet());
+
+    private final LocalDateTime createdHighWater;
+    private final LocalDateTime updatedHighWater;
+    private final Set<String> idsAtUpdatedHighWater;
+    private final Set<String> undatedIds;
+
+    public SyncCheckpoint(LocalDateTime createdHighWater, LocalDateTime updatedHighWater,
+                          Set<String> idsAtUpdatedHighWater) {
+        this(createdHighWater, updatedHighWater, idsAtUpdatedHighWater, Collections.emptySet());
+    }
+
+    public SyncCheckpoint(LocalDateTime createdHighWater, LocalDateTime updatedHighWater,
+                          Set<String> idsAtUpdatedHighWater, Set<String> undatedIds) {
+        this.createdHighWater = createdHighWater;
+        this.updatedHighWater = updatedHighWater;
+        this.idsAtUpdatedHighWater = copyOf(idsAtUpdatedHighWater);
+        this.undatedIds = copyOf(undatedIds);
+    }
+
+    /**
+     * Returns the checkpoint of a sync that has never run.
+     */
+    public static SyncCheckpoint empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the newest order creation time seen, or null before the first run.
+     */
+    public LocalDateTime getCreatedHighWater() {
+        return createdHighWater;
+    }
+
+    /**
+     * Returns the newest order update time seen, or null before the first run.
+     */
+    public LocalDateTime getUpdatedHighWater() {
+        return updatedHighWater;
+    }
+
+    /**
+     * Returns the IDs of the orders last updated exactly at {@link #getUpdatedHighWater()}.
+     */
+    public Set<String> getIdsAtUpdatedHighWater() {
+        return idsAtUpdatedHighWater;
+    }
+
+    /**
+     * Returns the IDs of already emitted orders that have neither an update nor a creation time.
+     */
+    public Set<String> getUndatedIds() {
+        return undatedIds;
+    }
+
+    private static Set<String> copyOf(Set<String> ids) {
+        return isNull(ids) ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+    }
+
+    @Override
+    public String toString() {
+        return "SyncCheckpoint{" +
+                "createdHighWater=" + createdHighWater +
+                ", updatedHighWater=" + updatedHighWater +
+                ", idsAtUpdatedHighWater=" + idsAtUpdatedHighWater +
+                ", undatedIds=" + undatedIds +
+                '}';
+    }
+}
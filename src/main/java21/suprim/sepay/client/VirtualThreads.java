@@ -0,0 +1,30 @@
+package suprim.sepay.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support (Java 21+ variant of the multi-release jar).
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+        // Utility class
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     *
+     * @return the executor
+     */
+    static ExecutorService newExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
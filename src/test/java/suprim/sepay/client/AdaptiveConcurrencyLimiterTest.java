@@ -0,0 +1,162 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+import suprim.sepay.config.Endpoint;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void growsAdditivelyWhileLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // +1/limit per response, so roughly one per window of responses: 2.5, 2.9, 3.24
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+        assertEquals(2, limiter.getLimit());
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 20);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void neverExceedsMaxLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2);
+        limiter.tryAcquire();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffMultiplicativelyOnDrop() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 20);
+
+        limiter.onDropped();
+
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void neverDropsBelowOne() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onDropped();
+        }
+
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 20);
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+
+        // The smoothed RTT passes 2x the minimum on the fourth slow response
+        for (int i = 0; i < 3; i++) {
+            limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT * 3);
+        }
+        assertEquals(20, limiter.getLimit());
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT * 3);
+        assertEquals(18, limiter.getLimit());
+
+        // At most one cut per window of about limit responses
+        for (int i = 0; i < 18; i++) {
+            limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT * 3);
+        }
+        assertEquals(18, limiter.getLimit());
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT * 3);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void jitteryHealthyLatencyDoesNotCollapseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+
+        // One response in ten takes 3x the no-load RTT
+        for (int i = 0; i < 5000; i++) {
+            limiter.onSuccess(Endpoint.ORDER_DETAIL, i % 10 == 9 ? RTT * 3 : RTT);
+        }
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void slowEndpointDoesNotCollapseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 40);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+
+        // Lists take 5x a detail lookup at all times; one in ten calls is a list
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                limiter.onSuccess(Endpoint.ORDER_LIST, RTT * 5);
+            } else {
+                limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+            }
+        }
+
+        assertTrue(limiter.getLimit() >= 20, "limit collapsed to " + limiter.getLimit());
+    }
+
+    @Test
+    void raisedLimitAdmitsQueuedCallers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 5);
+        limiter.tryAcquire();
+        CompletableFuture<Void> waiter = limiter.acquireAsync();
+
+        // Fully used at limit 1, so one response raises it to 2
+        limiter.onSuccess(Endpoint.ORDER_DETAIL, RTT);
+
+        assertTrue(waiter.isDone());
+        assertEquals(2, limiter.getActiveCalls());
+    }
+
+    @Test
+    void loweredLimitHoldsBackQueuedCallers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        CompletableFuture<Void> waiter = limiter.acquireAsync();
+
+        limiter.onDropped();
+        limiter.release();
+
+        assertFalse(waiter.isDone());
+        limiter.release();
+        assertTrue(waiter.isDone());
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 1));
+    }
+}
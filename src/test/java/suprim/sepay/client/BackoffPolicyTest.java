@@ -0,0 +1,62 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackoffPolicyTest {
+
+    @Test
+    void linear_growsByBase() {
+        BackoffPolicy policy = BackoffPolicy.linear(100);
+
+        assertEquals(100, policy.delayMs(0, 0));
+        assertEquals(200, policy.delayMs(1, 100));
+        assertEquals(300, policy.delayMs(2, 200));
+    }
+
+    @Test
+    void exponential_doublesUpToMax() {
+        BackoffPolicy policy = BackoffPolicy.exponential(100, 1000);
+
+        assertEquals(100, policy.delayMs(0, 0));
+        assertEquals(200, policy.delayMs(1, 0));
+        assertEquals(800, policy.delayMs(3, 0));
+        assertEquals(1000, policy.delayMs(4, 0));
+        assertEquals(1000, policy.delayMs(100, 0));
+    }
+
+    @Test
+    void fullJitter_staysWithinExponentialCeiling() {
+        BackoffPolicy policy = BackoffPolicy.fullJitter(100, 1000);
+
+        for (int i = 0; i < 200; i++) {
+            long first = policy.delayMs(0, 0);
+            long later = policy.delayMs(10, 0);
+            assertTrue(first >= 0 && first <= 100);
+            assertTrue(later >= 0 && later <= 1000);
+        }
+    }
+
+    @Test
+    void decorrelatedJitter_boundedByPreviousDelayAndMax() {
+        BackoffPolicy policy = BackoffPolicy.decorrelatedJitter(100, 1000);
+
+        for (int i = 0; i < 200; i++) {
+            long first = policy.delayMs(0, 0);
+            long next = policy.delayMs(1, 200);
+            long capped = policy.delayMs(5, 900);
+            assertTrue(first >= 100 && first <= 300);
+            assertTrue(next >= 100 && next <= 600);
+            assertTrue(capped >= 100 && capped <= 1000);
+        }
+    }
+
+    @Test
+    void capped_limitsDelegate() {
+        BackoffPolicy policy = BackoffPolicy.linear(100).capped(250);
+
+        assertEquals(100, policy.delayMs(0, 0));
+        assertEquals(250, policy.delayMs(5, 0));
+    }
+}
@@ -0,0 +1,120 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+import suprim.sepay.config.Endpoint;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void limitsConcurrentCalls() {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 2);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getActiveCalls());
+
+        bulkhead.release();
+
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void rejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead(Endpoint.ORDER_LIST, 0));
+    }
+
+    @Test
+    void releaseHandsPermitToWaitersInOrder() {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        assertTrue(bulkhead.acquireAsync().isDone());
+
+        CompletableFuture<Void> first = bulkhead.acquireAsync();
+        CompletableFuture<Void> second = bulkhead.acquireAsync();
+        assertEquals(2, bulkhead.getQueuedCalls());
+        // Queued callers are not overtaken
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release();
+
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void abandonedWaiterIsSkipped() {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        bulkhead.tryAcquire();
+        CompletableFuture<Void> abandoned = bulkhead.acquireAsync();
+        CompletableFuture<Void> waiting = bulkhead.acquireAsync();
+
+        assertTrue(bulkhead.abandon(abandoned));
+        bulkhead.release();
+
+        assertTrue(waiting.isDone());
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void abandonAfterGrantKeepsPermit() {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        bulkhead.tryAcquire();
+        CompletableFuture<Void> waiter = bulkhead.acquireAsync();
+        bulkhead.release();
+
+        assertFalse(bulkhead.abandon(waiter));
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void lastReleaseFreesPermit() {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        bulkhead.tryAcquire();
+        bulkhead.release();
+
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void timedAcquireTimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        bulkhead.tryAcquire();
+
+        assertFalse(bulkhead.tryAcquire(10, TimeUnit.MILLISECONDS));
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void timedAcquireWaitsForRelease() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(Endpoint.ORDER_LIST, 1);
+        bulkhead.tryAcquire();
+        AtomicBoolean acquired = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            try {
+                acquired.set(bulkhead.tryAcquire(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        waiter.start();
+        while (bulkhead.getQueuedCalls() == 0) {
+            Thread.sleep(1);
+        }
+        bulkhead.release();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(acquired.get());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+}
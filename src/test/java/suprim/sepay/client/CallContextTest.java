@@ -0,0 +1,86 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+import suprim.sepay.exception.SePayTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallContextTest {
+
+    @Test
+    void withTimeout_tracksRemainingTime() {
+        CallContext context = CallContext.withTimeout(Duration.ofSeconds(10));
+
+        assertTrue(context.hasDeadline());
+        assertFalse(context.isExpired());
+        assertTrue(context.remainingNanos() > TimeUnit.SECONDS.toNanos(9));
+        assertTrue(context.remainingNanos() <= TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void withDeadline_inThePastIsExpired() {
+        CallContext context = CallContext.withDeadline(Instant.now().minusSeconds(1));
+
+        assertTrue(context.isExpired());
+        assertEquals(0, context.remainingNanos());
+    }
+
+    @Test
+    void cancellable_hasNoDeadline() {
+        CallContext context = CallContext.cancellable();
+
+        assertFalse(context.hasDeadline());
+        assertFalse(context.isExpired());
+        assertEquals(Long.MAX_VALUE, context.remainingNanos());
+    }
+
+    @Test
+    void hugeTimeoutSaturates() {
+        CallContext context = CallContext.withTimeout(Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertFalse(context.isExpired());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CallContext.withTimeout(null));
+        assertThrows(IllegalArgumentException.class, () -> CallContext.withTimeout(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> CallContext.withDeadline(null));
+    }
+
+    @Test
+    void attach_failsCallAtDeadline() {
+        CallContext context = CallContext.withTimeout(Duration.ofMillis(20));
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        context.attach(call);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof SePayTimeoutException);
+    }
+
+    @Test
+    void cancel_cancelsAttachedAndLaterCalls() {
+        CallContext context = CallContext.cancellable();
+        CompletableFuture<String> running = new CompletableFuture<>();
+        CompletableFuture<String> done = new CompletableFuture<>();
+        context.attach(running);
+        context.attach(done);
+        done.complete("ok");
+
+        context.cancel();
+        CompletableFuture<String> later = new CompletableFuture<>();
+        context.attach(later);
+
+        assertTrue(context.isCancelled());
+        assertTrue(running.isCancelled());
+        assertEquals("ok", done.join());
+        assertTrue(later.isCancelled());
+    }
+}
@@ -0,0 +1,161 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import suprim.sepay.config.Endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    private AtomicLong clock;
+    private List<String> transitions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        transitions = new ArrayList<>();
+    }
+
+    private CircuitBreaker breaker() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+                .failureRateThreshold(50)
+                .slowCallRateThreshold(50)
+                .slowCallDuration(1000)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .waitDurationInOpenState(1000)
+                .permittedCallsInHalfOpenState(2)
+                .onStateTransition((endpoint, from, to) -> transitions.add(endpoint + ":" + from + "->" + to))
+                .build();
+        return new CircuitBreaker(Endpoint.ORDER_DETAIL, config, clock::get);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.onFailure(FAST);
+        breaker.onFailure(FAST);
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(List.of("ORDER_DETAIL:CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(SLOW);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void slidingWindowEvictsOldOutcomes() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.onFailure(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(25f, breaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpenAllowsLimitedProbesThenCloses() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(FAST);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of(
+                "ORDER_DETAIL:CLOSED->OPEN",
+                "ORDER_DETAIL:OPEN->HALF_OPEN",
+                "ORDER_DETAIL:HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(FAST);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void ignoredCallReturnsHalfOpenPermit() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(FAST);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void configValidation() {
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreakerConfig.builder().failureRateThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreakerConfig.builder().slowCallRateThreshold(101));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreakerConfig.builder().slidingWindowSize(0));
+        assertEquals(20, CircuitBreakerConfig.ofDefaults().getSlidingWindowSize());
+        assertEquals(3, CircuitBreakerConfig.builder().slidingWindowSize(3).build().getMinimumNumberOfCalls());
+    }
+}
@@ -0,0 +1,90 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+import suprim.sepay.config.Endpoint;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private static void record(Hedger hedger, Endpoint endpoint, int count, long millis) {
+        for (int i = 0; i < count; i++) {
+            hedger.recordLatency(endpoint, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    @Test
+    void noDelayUntilEnoughSamples() {
+        Hedger hedger = new Hedger(HedgingConfig.ofDefaults());
+
+        record(hedger, Endpoint.ORDER_DETAIL, HedgingConfig.MIN_SAMPLES - 1, 50);
+        assertEquals(-1, hedger.getHedgeDelayMs(Endpoint.ORDER_DETAIL));
+
+        record(hedger, Endpoint.ORDER_DETAIL, 1, 50);
+        assertEquals(50, hedger.getHedgeDelayMs(Endpoint.ORDER_DETAIL));
+        assertEquals(-1, hedger.getHedgeDelayMs(Endpoint.ORDER_LIST));
+    }
+
+    @Test
+    void delayTracksPercentile() {
+        Hedger hedger = new Hedger(HedgingConfig.builder().latencyWindowSize(100).minDelay(0).build());
+
+        for (int millis = 1; millis <= 100; millis++) {
+            record(hedger, Endpoint.ORDER_LIST, 1, millis);
+        }
+
+        assertEquals(95, hedger.getHedgeDelayMs(Endpoint.ORDER_LIST));
+    }
+
+    @Test
+    void delayNeverBelowMinimum() {
+        Hedger hedger = new Hedger(HedgingConfig.builder().minDelay(25).build());
+
+        record(hedger, Endpoint.ORDER_DETAIL, HedgingConfig.MIN_SAMPLES, 1);
+
+        assertEquals(25, hedger.getHedgeDelayMs(Endpoint.ORDER_DETAIL));
+    }
+
+    @Test
+    void budgetLimitsHedgesToRatio() {
+        Hedger hedger = new Hedger(HedgingConfig.builder().maxHedgeRatio(0.1).build());
+
+        assertFalse(hedger.tryAcquireHedge());
+        int granted = 0;
+        for (int i = 0; i < 100; i++) {
+            hedger.onRequest();
+            if (hedger.tryAcquireHedge()) {
+                granted++;
+            }
+        }
+
+        assertEquals(10, granted);
+        assertEquals(100, hedger.getRequestCount());
+        assertEquals(10, hedger.getHedgeCount());
+    }
+
+    @Test
+    void budgetIsCapped() {
+        Hedger hedger = new Hedger(HedgingConfig.builder().maxHedgeRatio(1).build());
+
+        for (int i = 0; i < 100; i++) {
+            hedger.onRequest();
+        }
+        int granted = 0;
+        while (hedger.tryAcquireHedge()) {
+            granted++;
+        }
+
+        assertEquals(10, granted);
+    }
+
+    @Test
+    void config_rejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> HedgingConfig.builder().delayPercentile(40));
+        assertThrows(IllegalArgumentException.class, () -> HedgingConfig.builder().maxHedgeRatio(0));
+        assertThrows(IllegalArgumentException.class, () -> HedgingConfig.builder().minDelay(-1));
+        assertThrows(IllegalArgumentException.class, () -> HedgingConfig.builder().latencyWindowSize(5));
+    }
+}
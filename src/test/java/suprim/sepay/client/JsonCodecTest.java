@@ -0,0 +1,81 @@
+package suprim.sepay.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListResponse;
+import suprim.sepay.order.OrderStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonCodec.
+ */
+class JsonCodecTest {
+
+    private final JsonCodec codec = new JsonCodec(JsonCodec.sharedMapper());
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void read_orderWithTimestamps() throws Exception {
+        Order order = codec.read(utf8("{\"id\":\"ord_1\",\"status\":\"completed\","
+            + "\"created_at\":\"2024-01-15T10:30:00\",\"updated_at\":\"2024-01-15T10:35:00\"}"), Order.class);
+
+        assertEquals("ord_1", order.getId());
+        assertEquals(OrderStatus.COMPLETED, order.getStatus());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), order.getCreatedAt());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 35), order.getUpdatedAt());
+    }
+
+    @Test
+    void read_listResponseReusesReader() throws Exception {
+        byte[] page = utf8("{\"data\":[{\"id\":\"ord_1\"},{\"id\":\"ord_2\"}],\"total\":2}");
+
+        OrderListResponse first = codec.read(page, OrderListResponse.class);
+        OrderListResponse second = codec.read(page, OrderListResponse.class);
+
+        assertEquals(2, first.getData().size());
+        assertEquals("ord_2", second.getData().get(1).getId());
+    }
+
+    @Test
+    void read_ignoresUnknownProperties() throws Exception {
+        ApiErrorResponse error = codec.read(utf8("{\"error\":\"E\",\"message\":\"M\",\"trace\":[1,2]}"),
+            ApiErrorResponse.class);
+
+        assertEquals("E", error.getError());
+        assertEquals("M", error.getMessage());
+    }
+
+    @Test
+    void write_datesAsIsoStrings() throws Exception {
+        assertArrayEquals(utf8("{\"day\":\"2024-01-15\"}"), codec.write(Map.of("day", LocalDate.of(2024, 1, 15))));
+        assertArrayEquals(utf8("null"), codec.write(null));
+    }
+
+    @Test
+    void write_encodesUtf8Directly() throws Exception {
+        assertArrayEquals(utf8("{\"reason\":\"Khách hủy đơn\"}"), codec.write(Map.of("reason", "Khách hủy đơn")));
+    }
+
+    @Test
+    void newMapper_withoutAcceleration() {
+        ObjectMapper mapper = JsonCodec.newMapper(false);
+
+        assertFalse(mapper.getRegisteredModuleIds().stream()
+            .anyMatch(id -> id.toString().contains("blackbird") || id.toString().contains("afterburner")));
+    }
+
+    @Test
+    void sharedMapper_isSingleton() {
+        assertSame(JsonCodec.sharedMapper(), JsonCodec.sharedMapper());
+    }
+}
@@ -0,0 +1,102 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RetryBudget budget(double ratio, int minRetriesPerSecond, int windowSeconds) {
+        return new RetryBudget(RetryBudgetConfig.builder()
+            .retryRatio(ratio)
+            .minRetriesPerSecond(minRetriesPerSecond)
+            .window(windowSeconds)
+            .build(), clock::get);
+    }
+
+    private static void calls(RetryBudget budget, int count) {
+        for (int i = 0; i < count; i++) {
+            budget.onCall();
+        }
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void retriesLimitedToRatioOfCalls() {
+        RetryBudget budget = budget(0.1, 0, 10);
+        calls(budget, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryAcquireRetry());
+        }
+        assertFalse(budget.tryAcquireRetry());
+        assertEquals(10, budget.getRetryCount());
+        assertEquals(1, budget.getRejectedRetryCount());
+    }
+
+    @Test
+    void minRetriesPerSecondAllowsRetriesWithoutCalls() {
+        RetryBudget budget = budget(0.1, 2, 5);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryAcquireRetry());
+        }
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void oldCallsAndRetriesLeaveTheWindow() {
+        RetryBudget budget = budget(0.5, 0, 3);
+        calls(budget, 4);
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        advanceSeconds(2);
+        calls(budget, 2);
+        // Old calls still count, and so do old retries
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        advanceSeconds(1);
+        // The first second has left the window: 2 calls, 1 retry
+        assertFalse(budget.tryAcquireRetry());
+
+        advanceSeconds(3);
+        calls(budget, 2);
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void slotsAreReusedAcrossWindows() {
+        RetryBudget budget = budget(1, 0, 2);
+        for (int second = 0; second < 10; second++) {
+            calls(budget, 1);
+            assertTrue(budget.tryAcquireRetry());
+            assertFalse(budget.tryAcquireRetry());
+            advanceSeconds(2);
+        }
+    }
+
+    @Test
+    void configDefaultsAndValidation() {
+        RetryBudgetConfig config = RetryBudgetConfig.ofDefaults();
+        assertEquals(0.1, config.getRetryRatio());
+        assertEquals(10, config.getMinRetriesPerSecond());
+        assertEquals(10, config.getWindowSeconds());
+
+        assertThrows(IllegalArgumentException.class, () -> RetryBudgetConfig.builder().retryRatio(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> RetryBudgetConfig.builder().retryRatio(1.5));
+        assertThrows(IllegalArgumentException.class, () -> RetryBudgetConfig.builder().minRetriesPerSecond(-1));
+        assertThrows(IllegalArgumentException.class, () -> RetryBudgetConfig.builder().window(0));
+        assertThrows(IllegalArgumentException.class, () -> RetryBudgetConfig.builder().window(301));
+    }
+}
@@ -1,6 +1,8 @@
 package suprim.sepay.client;
 
+import suprim.sepay.config.Endpoint;
 import suprim.sepay.config.Environment;
+import suprim.sepay.order.OrderCache;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,4 +136,181 @@ class SePayClientConfigTest {
             .build();
         assertEquals(0, config.getRetryDelayMs());
     }
+
+    @Test
+    void testExecutorDefaultsToNull() {
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret").build();
+        assertNull(config.getExecutor());
+        assertFalse(config.isVirtualThreads());
+    }
+
+    @Test
+    void testCustomExecutor() {
+        java.util.concurrent.Executor executor = Runnable::run;
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .executor(executor)
+            .virtualThreads(true)
+            .build();
+        assertSame(executor, config.getExecutor());
+        assertTrue(config.isVirtualThreads());
+        assertTrue(config.toString().contains("virtualThreads=true"));
+    }
+
+    @Test
+    void testHttpVersion() {
+        SePayClientConfig defaults = SePayClientConfig.builder("merchant", "secret").build();
+        assertEquals(java.net.http.HttpClient.Version.HTTP_2, defaults.getHttpVersion());
+
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .httpVersion(java.net.http.HttpClient.Version.HTTP_1_1)
+            .build();
+        assertEquals(java.net.http.HttpClient.Version.HTTP_1_1, config.getHttpVersion());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").httpVersion(null));
+    }
+
+    @Test
+    void testNullExecutorThrows() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").executor(null)
+        );
+    }
+
+    @Test
+    void testRateLimitDefaults() {
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .rateLimit(2.5)
+            .build();
+        assertEquals(2.5, config.getRateLimitPerSecond(), 0.001);
+        assertEquals(3, config.getRateLimitBurst());
+        assertEquals(5000, config.getRateLimitTimeoutMs());
+    }
+
+    @Test
+    void testInvalidRateLimitThrows() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").rateLimit(0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").rateLimitBurst(0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").rateLimitTimeout(-1)
+        );
+    }
+
+    @Test
+    void testBackoffDefaults() {
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret").build();
+        assertNotNull(config.getBackoffPolicy());
+        assertEquals(30000, config.getMaxRetryDelayMs());
+    }
+
+    @Test
+    void testCustomBackoffPolicy() {
+        BackoffPolicy policy = BackoffPolicy.linear(5);
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .backoffPolicy(policy)
+            .maxRetryDelay(0)
+            .build();
+        assertSame(policy, config.getBackoffPolicy());
+        assertEquals(0, config.getMaxRetryDelayMs());
+    }
+
+    @Test
+    void testInvalidBackoffOptionsThrow() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").backoffPolicy(null)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").maxRetryDelay(-1)
+        );
+    }
+
+    @Test
+    void testMaxConcurrentCalls() {
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .maxConcurrentCalls(Endpoint.ORDER_LIST, 2)
+            .bulkheadTimeout(100)
+            .build();
+        assertEquals(2, config.getMaxConcurrentCalls().get(Endpoint.ORDER_LIST));
+        assertNull(config.getMaxConcurrentCalls().get(Endpoint.ORDER_DETAIL));
+        assertEquals(100, config.getBulkheadTimeoutMs());
+        assertTrue(config.toString().contains("maxConcurrentCalls={ORDER_LIST=2}"));
+    }
+
+    @Test
+    void testInvalidMaxConcurrentCallsThrows() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").maxConcurrentCalls(null, 1)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").maxConcurrentCalls(Endpoint.ORDER_LIST, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").bulkheadTimeout(-1)
+        );
+    }
+
+    @Test
+    void testAdaptiveConcurrency() {
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .adaptiveConcurrency(10, 100)
+            .build();
+        assertEquals(10, config.getAdaptiveConcurrencyInitialLimit());
+        assertEquals(100, config.getAdaptiveConcurrencyMaxLimit());
+        assertEquals(0, SePayClientConfig.builder("merchant", "secret").build().getAdaptiveConcurrencyMaxLimit());
+    }
+
+    @Test
+    void testInvalidAdaptiveConcurrencyThrows() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").adaptiveConcurrency(0, 10)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").adaptiveConcurrency(10, 5)
+        );
+    }
+
+    @Test
+    void testOrderCache() {
+        OrderCache cache = OrderCache.builder().build();
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .orderCache(cache)
+            .build();
+        assertSame(cache, config.getOrderCache());
+        assertSame(cache, SePayClient.create(config).orders().getCache());
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").orderCache(null)
+        );
+    }
+
+    @Test
+    void testRetryBudget() {
+        RetryBudgetConfig budget = RetryBudgetConfig.ofDefaults();
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .retryBudget(budget)
+            .build();
+        assertSame(budget, config.getRetryBudgetConfig());
+        assertTrue(config.toString().contains("retryBudget=true"));
+        assertNull(SePayClientConfig.builder("merchant", "secret").build().getRetryBudgetConfig());
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").retryBudget(null)
+        );
+    }
+
+    @Test
+    void testTransport() {
+        SePayTransport transport = new JdkHttpTransport(java.net.http.HttpClient.newHttpClient());
+        SePayClientConfig config = SePayClientConfig.builder("merchant", "secret")
+            .transport(transport)
+            .build();
+        assertSame(transport, config.getTransport());
+        assertTrue(config.toString().contains("transport=JdkHttpTransport"));
+        assertNull(SePayClientConfig.builder("merchant", "secret").build().getTransport());
+        assertThrows(IllegalArgumentException.class, () ->
+            SePayClientConfig.builder("merchant", "secret").transport(null)
+        );
+    }
 }
@@ -0,0 +1,204 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import suprim.sepay.exception.SePayException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SePayClientRegistryTest {
+
+    private AtomicLong clock;
+    private AtomicInteger created;
+    private SePayTransportRegistry transportRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        created = new AtomicInteger();
+        transportRegistry = new SePayTransportRegistry();
+    }
+
+    private SePayClientRegistry.Builder builder() {
+        return SePayClientRegistry.builder(merchantId -> {
+            if (merchantId.startsWith("UNKNOWN")) {
+                return null;
+            }
+            created.incrementAndGet();
+            return SePayClient.builder(merchantId, "secret-" + merchantId);
+        }).transportRegistry(transportRegistry);
+    }
+
+    @Test
+    void get_createsLazilyAndCaches() {
+        SePayClientRegistry registry = builder().build(clock::get);
+
+        SePayClient first = registry.get("MERCHANT_A");
+        SePayClient second = registry.get("MERCHANT_A");
+
+        assertSame(first, second);
+        assertEquals("MERCHANT_A", first.getMerchantId());
+        assertEquals(1, created.get());
+        assertSame(first.orders(), second.orders());
+    }
+
+    @Test
+    void get_sharesTransportAcrossMerchants() {
+        SePayClientRegistry registry = builder().build(clock::get);
+
+        SePayClient a = registry.get("MERCHANT_A");
+        SePayClient b = registry.get("MERCHANT_B");
+
+        assertSame(a.getHttpClient().getHttpClient(), b.getHttpClient().getHttpClient());
+        assertEquals(1, transportRegistry.size());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedBeyondMaxSize() {
+        SePayClientRegistry registry = builder().maxSize(2).build(clock::get);
+
+        SePayClient a = registry.get("MERCHANT_A");
+        registry.get("MERCHANT_B");
+        registry.get("MERCHANT_A"); // A is now most recently used
+        registry.get("MERCHANT_C"); // evicts B
+
+        assertEquals(2, registry.size());
+        assertSame(a, registry.get("MERCHANT_A"));
+        assertEquals(3, created.get());
+        registry.get("MERCHANT_B");
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    void get_recreatesAfterIdleTimeout() {
+        SePayClientRegistry registry = builder().idleTimeout(1000).build(clock::get);
+
+        SePayClient first = registry.get("MERCHANT_A");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertSame(first, registry.get("MERCHANT_A"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertNotSame(first, registry.get("MERCHANT_A"));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void get_sweepsIdleEntriesOnInsert() {
+        SePayClientRegistry registry = builder().idleTimeout(1000).build(clock::get);
+
+        registry.get("MERCHANT_A");
+        registry.get("MERCHANT_B");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        registry.get("MERCHANT_C");
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void get_sweepsIdleEntriesOnLookup() {
+        SePayClientRegistry registry = builder().idleTimeout(1000).build(clock::get);
+
+        registry.get("MERCHANT_A");
+        registry.get("MERCHANT_B");
+        registry.get("MERCHANT_C");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        registry.get("MERCHANT_C");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        // No new merchant: the hit alone drops A and B
+        registry.get("MERCHANT_C");
+
+        assertEquals(1, registry.size());
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void invalidate_removesClient() {
+        SePayClientRegistry registry = builder().build(clock::get);
+
+        SePayClient first = registry.get("MERCHANT_A");
+        registry.invalidate("MERCHANT_A");
+
+        assertEquals(0, registry.size());
+        assertNotSame(first, registry.get("MERCHANT_A"));
+
+        registry.invalidateAll();
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void get_unknownMerchant_throws() {
+        SePayClientRegistry registry = builder().build(clock::get);
+
+        assertThrows(SePayException.class, () -> registry.get("UNKNOWN_X"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void get_emptyMerchant_throws() {
+        SePayClientRegistry registry = builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get(""));
+        assertThrows(IllegalArgumentException.class, () -> registry.get(null));
+    }
+
+    @Test
+    void builder_invalidOptions_throw() {
+        assertThrows(IllegalArgumentException.class, () -> SePayClientRegistry.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> builder().maxSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder().idleTimeout(0));
+        assertThrows(IllegalArgumentException.class, () -> builder().transportRegistry(null));
+    }
+
+    @Test
+    void get_concurrentMissesShareOneBuild() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SePayClientRegistry registry = SePayClientRegistry.builder(merchantId -> {
+            created.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SePayClient.builder(merchantId, "secret");
+        }).transportRegistry(transportRegistry).build(clock::get);
+
+        CompletableFuture<SePayClient> first = CompletableFuture.supplyAsync(() -> registry.get("MERCHANT_A"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SePayClient> second = CompletableFuture.supplyAsync(() -> registry.get("MERCHANT_A"));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void get_failedBuildIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        SePayClientRegistry registry = SePayClientRegistry.builder(merchantId ->
+            calls.incrementAndGet() == 1 ? null : SePayClient.builder(merchantId, "secret")
+        ).transportRegistry(transportRegistry).build(clock::get);
+
+        assertThrows(SePayException.class, () -> registry.get("MERCHANT_A"));
+        assertNotNull(registry.get("MERCHANT_A"));
+    }
+
+    @Test
+    void get_keepsSupplierTransportRegistry() {
+        SePayTransportRegistry own = new SePayTransportRegistry();
+        SePayClientRegistry registry = SePayClientRegistry.builder(merchantId ->
+            SePayClient.builder(merchantId, "secret").transportRegistry(own)
+        ).transportRegistry(transportRegistry).build(clock::get);
+
+        SePayClient direct = SePayClient.create(SePayClient.builder("MERCHANT_B", "secret").transportRegistry(own).build());
+        assertSame(direct.getHttpClient().getHttpClient(), registry.get("MERCHANT_A").getHttpClient().getHttpClient());
+    }
+}
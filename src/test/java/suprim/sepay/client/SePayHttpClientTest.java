@@ -1,21 +1,38 @@
 package suprim.sepay.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import suprim.sepay.config.Endpoint;
 import suprim.sepay.config.Environment;
 import suprim.sepay.exception.SePayApiException;
+import suprim.sepay.exception.SePayBulkheadFullException;
+import suprim.sepay.exception.SePayCircuitOpenException;
 import suprim.sepay.exception.SePayException;
 import suprim.sepay.exception.SePayRateLimitException;
 import suprim.sepay.exception.SePayServerException;
+import suprim.sepay.exception.SePayTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,7 +44,7 @@ import static org.mockito.Mockito.*;
 class SePayHttpClientTest {
 
     private HttpClient mockHttpClient;
-    private HttpResponse<String> mockResponse;
+    private HttpResponse<byte[]> mockResponse;
     private SePayClientConfig config;
     private ObjectMapper objectMapper;
 
@@ -47,6 +64,10 @@ class SePayHttpClientTest {
         return new SePayHttpClient(config, objectMapper, mockHttpClient);
     }
 
+    private static byte[] utf8(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
     // === Auth Header Tests ===
 
     @Test
@@ -62,7 +83,7 @@ class SePayHttpClientTest {
     @Test
     void testGetRequestSendsCorrectHeaders() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("{\"data\":\"test\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"data\":\"test\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -83,7 +104,7 @@ class SePayHttpClientTest {
     @Test
     void testPostRequestSendsJsonBody() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -95,6 +116,9 @@ class SePayHttpClientTest {
 
         HttpRequest request = requestCaptor.getValue();
         assertEquals("POST", request.method());
+        // Published as a fixed-length byte array
+        assertEquals(objectMapper.writeValueAsBytes(new TestRequest("value")).length,
+            request.bodyPublisher().orElseThrow().contentLength());
     }
 
     // === Success Response Tests ===
@@ -102,7 +126,7 @@ class SePayHttpClientTest {
     @Test
     void testSuccessResponseParsedCorrectly() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("{\"success\":true,\"message\":\"OK\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true,\"message\":\"OK\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -116,7 +140,7 @@ class SePayHttpClientTest {
     @Test
     void testEmptyResponseBodyHandled() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("");
+        when(mockResponse.body()).thenReturn(utf8(""));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -131,7 +155,7 @@ class SePayHttpClientTest {
     @Test
     void test400ThrowsSePayApiException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(400);
-        when(mockResponse.body()).thenReturn("{\"error\":\"VALIDATION_ERROR\",\"message\":\"Invalid field\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"error\":\"VALIDATION_ERROR\",\"message\":\"Invalid field\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -145,10 +169,48 @@ class SePayHttpClientTest {
         assertEquals("Invalid field", ex.getMessage());
     }
 
+    @Test
+    void testErrorResponseCarriesDetails() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(503);
+        when(mockResponse.body()).thenReturn(utf8("{\"error\":\"MAINTENANCE\",\"message\":\"Down for maintenance\"}"));
+        when(mockResponse.headers()).thenReturn(HttpHeaders.of(
+            Map.of("Retry-After", List.of("120"), "X-Request-Id", List.of("req_abc")), (name, v) -> true));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createClient();
+        SePayServerException ex = assertThrows(SePayServerException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertEquals(503, ex.getStatusCode());
+        assertEquals("MAINTENANCE", ex.getErrorCode());
+        assertEquals("Down for maintenance", ex.getMessage());
+        assertEquals(120L, ex.getRetryAfterSeconds());
+        assertEquals("req_abc", ex.getRequestId());
+    }
+
+    @Test
+    void testHtmlErrorPageBecomesMessage() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(403);
+        when(mockResponse.body()).thenReturn(utf8("<html><body>Forbidden</body></html>"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createClient();
+        SePayApiException ex = assertThrows(SePayApiException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertEquals("<html><body>Forbidden</body></html>", ex.getMessage());
+        assertNull(ex.getErrorCode());
+        assertNull(ex.getRequestId());
+    }
+
     @Test
     void test401ThrowsSePayApiException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(401);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Unauthorized\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Unauthorized\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -163,7 +225,7 @@ class SePayHttpClientTest {
     @Test
     void test404ThrowsSePayApiException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(404);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Not found\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Not found\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -179,7 +241,7 @@ class SePayHttpClientTest {
     @Test
     void test429ThrowsSePayRateLimitException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(429);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Rate limit exceeded\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Rate limit exceeded\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -194,7 +256,7 @@ class SePayHttpClientTest {
     @Test
     void test500ThrowsSePayServerException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(500);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Internal server error\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Internal server error\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -209,7 +271,7 @@ class SePayHttpClientTest {
     @Test
     void test503ThrowsSePayServerException() throws Exception {
         when(mockResponse.statusCode()).thenReturn(503);
-        when(mockResponse.body()).thenReturn("");
+        when(mockResponse.body()).thenReturn(utf8(""));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -226,7 +288,7 @@ class SePayHttpClientTest {
     @Test
     void testRetryOn429() throws Exception {
         when(mockResponse.statusCode()).thenReturn(429, 429, 200);
-        when(mockResponse.body()).thenReturn("{}", "{}", "{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{}"), utf8("{\"success\":true}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -240,7 +302,7 @@ class SePayHttpClientTest {
     @Test
     void testRetryOn500() throws Exception {
         when(mockResponse.statusCode()).thenReturn(500, 200);
-        when(mockResponse.body()).thenReturn("{}", "{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{\"success\":true}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -254,7 +316,7 @@ class SePayHttpClientTest {
     @Test
     void testNoRetryOn400() throws Exception {
         when(mockResponse.statusCode()).thenReturn(400);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Bad request\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Bad request\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -269,7 +331,7 @@ class SePayHttpClientTest {
     @Test
     void testNoRetryOn401() throws Exception {
         when(mockResponse.statusCode()).thenReturn(401);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Unauthorized\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Unauthorized\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -284,7 +346,7 @@ class SePayHttpClientTest {
     @Test
     void testMaxRetriesExceededThrows() throws Exception {
         when(mockResponse.statusCode()).thenReturn(500);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Server error\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Server error\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -304,7 +366,7 @@ class SePayHttpClientTest {
             .thenThrow(new IOException("Connection refused"))
             .thenReturn(mockResponse);
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
 
         SePayHttpClient client = createClient();
         ApiResponse result = client.get("https://api.example.com/test", ApiResponse.class);
@@ -332,7 +394,7 @@ class SePayHttpClientTest {
     @Test
     void testMalformedJsonResponseHandled() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("not valid json");
+        when(mockResponse.body()).thenReturn(utf8("not valid json"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -347,7 +409,7 @@ class SePayHttpClientTest {
     @Test
     void testMalformedErrorResponseUsesRawBody() throws Exception {
         when(mockResponse.statusCode()).thenReturn(400);
-        when(mockResponse.body()).thenReturn("plain text error");
+        when(mockResponse.body()).thenReturn(utf8("plain text error"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -359,6 +421,43 @@ class SePayHttpClientTest {
         assertEquals("plain text error", ex.getMessage());
     }
 
+    @Test
+    void testLargeMalformedErrorResponseIsTruncated() throws Exception {
+        String body = "x".repeat(SePayHttpClient.MAX_BODY_EXCERPT_BYTES * 4);
+        when(mockResponse.statusCode()).thenReturn(400);
+        when(mockResponse.body()).thenReturn(utf8(body));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createClient();
+        SePayApiException ex = assertThrows(SePayApiException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertEquals(body.substring(0, SePayHttpClient.MAX_BODY_EXCERPT_BYTES) + "...", ex.getMessage());
+    }
+
+    @Test
+    void testResponseParsedFromUtf8Bytes() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true,\"message\":\"Đã thanh toán\"}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createClient();
+        ApiResponse result = client.get("https://api.example.com/test", ApiResponse.class);
+
+        assertEquals("Đã thanh toán", result.getMessage());
+    }
+
+    @Test
+    void testExcerptBoundsLongBodies() {
+        assertNull(SePayHttpClient.excerpt(null));
+        assertEquals("short", SePayHttpClient.excerpt(utf8("short")));
+        String excerpt = SePayHttpClient.excerpt(new byte[SePayHttpClient.MAX_BODY_EXCERPT_BYTES + 1]);
+        assertEquals(SePayHttpClient.MAX_BODY_EXCERPT_BYTES + 3, excerpt.length());
+    }
+
     @Test
     void testNullResponseBodyReturnsEmpty() throws Exception {
         when(mockResponse.statusCode()).thenReturn(200);
@@ -483,13 +582,8 @@ class SePayHttpClientTest {
 
     @Test
     void testPostWithUnserializableBody() throws Exception {
-        // Create ObjectMapper that will fail
-        ObjectMapper failingMapper = mock(ObjectMapper.class);
-        com.fasterxml.jackson.core.JsonProcessingException jsonEx =
-            new com.fasterxml.jackson.databind.JsonMappingException(null, "Cannot serialize");
-        when(failingMapper.writeValueAsString(any())).thenThrow(jsonEx);
-
-        SePayHttpClient client = new SePayHttpClient(config, failingMapper, mockHttpClient);
+        // A plain Object has no properties, which Jackson refuses to serialize
+        SePayHttpClient client = createClient();
         SePayException ex = assertThrows(SePayException.class, () ->
             client.post("https://api.example.com/test", new Object(), ApiResponse.class)
         );
@@ -510,15 +604,18 @@ class SePayHttpClientTest {
 
         // Access sleepBeforeRetry via reflection
         java.lang.reflect.Method method = SePayHttpClient.class.getDeclaredMethod(
-            "sleepBeforeRetry", int.class);
+            "sleepBeforeRetry", long.class);
         method.setAccessible(true);
 
         // Interrupt the current thread before calling
         Thread.currentThread().interrupt();
 
-        // Should catch InterruptedException and restore interrupt flag
-        method.invoke(client, 0);
+        // Should end the call and restore the interrupt flag
+        java.lang.reflect.InvocationTargetException ex = assertThrows(
+            java.lang.reflect.InvocationTargetException.class, () -> method.invoke(client, 0L));
 
+        assertTrue(ex.getCause() instanceof SePayException);
+        assertEquals("Request interrupted", ex.getCause().getMessage());
         // Verify interrupt flag is restored
         assertTrue(Thread.interrupted()); // clears the flag
     }
@@ -534,7 +631,7 @@ class SePayHttpClientTest {
         SePayHttpClient client = new SePayHttpClient(zeroRetryConfig, objectMapper, mockHttpClient);
 
         when(mockResponse.statusCode()).thenReturn(200);
-        when(mockResponse.body()).thenReturn("{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -546,7 +643,7 @@ class SePayHttpClientTest {
     @Test
     void test201StatusSuccess() throws Exception {
         when(mockResponse.statusCode()).thenReturn(201);
-        when(mockResponse.body()).thenReturn("{\"success\":true}");
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -559,7 +656,7 @@ class SePayHttpClientTest {
     @Test
     void test403WithErrorMessage() throws Exception {
         when(mockResponse.statusCode()).thenReturn(403);
-        when(mockResponse.body()).thenReturn("{\"message\":\"Forbidden access\"}");
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Forbidden access\"}"));
         when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(mockResponse);
 
@@ -572,6 +669,959 @@ class SePayHttpClientTest {
         assertEquals("Forbidden access", ex.getMessage());
     }
 
+    // === Async Tests ===
+
+    @Test
+    void testGetAsyncParsesResponse() {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true,\"message\":\"OK\"}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        ApiResponse result = client.getAsync("https://api.example.com/test", ApiResponse.class).join();
+
+        assertTrue(result.isSuccess());
+        assertEquals("OK", result.getMessage());
+    }
+
+    @Test
+    void testPostAsyncSendsPost() {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        client.postAsync("https://api.example.com/test", new TestRequest("value"), ApiResponse.class).join();
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(mockHttpClient).sendAsync(requestCaptor.capture(), any());
+        assertEquals("POST", requestCaptor.getValue().method());
+        verify(mockHttpClient, never()).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    void testAsyncRetriesWithoutBlockingSend() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(503, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        ApiResponse result = client.getAsync("https://api.example.com/test", ApiResponse.class).join();
+
+        assertTrue(result.isSuccess());
+        verify(mockHttpClient, times(2)).sendAsync(any(), any());
+        verify(mockHttpClient, never()).send(any(), any());
+    }
+
+    @Test
+    void testAsyncMapsErrorStatus() {
+        when(mockResponse.statusCode()).thenReturn(400);
+        when(mockResponse.body()).thenReturn(utf8("{\"error\":\"VALIDATION_ERROR\",\"message\":\"Invalid field\"}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getAsync("https://api.example.com/test", ApiResponse.class).join()
+        );
+
+        SePayApiException cause = assertInstanceOf(SePayApiException.class, ex.getCause());
+        assertEquals(400, cause.getStatusCode());
+        assertEquals("VALIDATION_ERROR", cause.getErrorCode());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testAsyncConnectionErrorExhaustsRetries() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Connection refused")));
+
+        SePayHttpClient client = createClient();
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getRawAsync("https://api.example.com/test").join()
+        );
+
+        assertInstanceOf(SePayException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("Connection refused"));
+        verify(mockHttpClient, times(3)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testPostAsyncWithUnserializableBody() throws Exception {
+        SePayHttpClient client = createClient();
+        CompletableFuture<ApiResponse> future =
+            client.postAsync("https://api.example.com/test", new Object(), ApiResponse.class);
+
+        CompletionException ex = assertThrows(CompletionException.class, future::join);
+        assertTrue(ex.getCause().getMessage().contains("Failed to serialize"));
+    }
+
+    // === Hedging Tests ===
+
+    private SePayHttpClient createHedgingClient() {
+        SePayClientConfig hedging = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(0)
+            .hedging(HedgingConfig.builder().maxHedgeRatio(1).minDelay(0).build())
+            .build();
+        return new SePayHttpClient(hedging, objectMapper, mockHttpClient);
+    }
+
+    @Test
+    void testHedgedGetTakesFirstSuccessAndCancelsLoser() {
+        String url = "https://api.example.com/v1/order/detail/ord_1";
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> calls.incrementAndGet() == HedgingConfig.MIN_SAMPLES + 1
+                ? stalled : CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createHedgingClient();
+        for (int i = 0; i < HedgingConfig.MIN_SAMPLES; i++) {
+            client.get(url, ApiResponse.class);
+        }
+        assertTrue(client.getHedger().getHedgeDelayMs(Endpoint.ORDER_DETAIL) >= 0);
+
+        ApiResponse result = client.getAsync(url, ApiResponse.class).join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(HedgingConfig.MIN_SAMPLES + 2, calls.get());
+        assertEquals(1, client.getHedger().getHedgeCount());
+        // The loser is cancelled right after the winner completes the result
+        assertThrows(CancellationException.class, () -> stalled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHedgeIsNotRetried() throws Exception {
+        String url = "https://api.example.com/v1/order/detail/ord_1";
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        HttpResponse<byte[]> unavailable = mock(HttpResponse.class);
+        when(unavailable.statusCode()).thenReturn(503);
+        when(unavailable.body()).thenReturn(utf8("{}"));
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        AtomicInteger calls = new AtomicInteger();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> {
+                int call = calls.incrementAndGet();
+                if (call <= HedgingConfig.MIN_SAMPLES) {
+                    return CompletableFuture.completedFuture(mockResponse);
+                }
+                return call == HedgingConfig.MIN_SAMPLES + 1
+                    ? stalled : CompletableFuture.completedFuture(unavailable);
+            });
+        SePayHttpClient client = new SePayHttpClient(SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(3)
+            .retryDelay(1)
+            .hedging(HedgingConfig.builder().maxHedgeRatio(1).minDelay(0).build())
+            .build(), objectMapper, mockHttpClient);
+        for (int i = 0; i < HedgingConfig.MIN_SAMPLES; i++) {
+            client.get(url, ApiResponse.class);
+        }
+
+        CompletableFuture<ApiResponse> result = client.getAsync(url, ApiResponse.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.getHedger().getHedgeCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        // Time for the failed hedge's retries, had it any
+        Thread.sleep(200);
+        stalled.complete(mockResponse);
+
+        assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(HedgingConfig.MIN_SAMPLES + 2, calls.get());
+    }
+
+    @Test
+    void testHedgingSkipsPostAndColdEndpoints() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createHedgingClient();
+        client.get("https://api.example.com/v1/order", ApiResponse.class);
+        client.post("https://api.example.com/v1/order/cancel", Map.of("order_id", "ord_1"), ApiResponse.class);
+
+        assertEquals(1, client.getHedger().getRequestCount());
+        assertEquals(0, client.getHedger().getHedgeCount());
+        verify(mockHttpClient).send(any(HttpRequest.class), any());
+    }
+
+    @Test
+    void testCancelledCallAbortsExchangeWithoutBreakerFailure() {
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(stalled);
+        SePayClientConfig breaking = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .circuitBreaker(CircuitBreakerConfig.builder().minimumNumberOfCalls(1).build())
+            .build();
+        SePayHttpClient client = new SePayHttpClient(breaking, objectMapper, mockHttpClient);
+
+        client.getRawAsync("https://api.example.com/v1/order").cancel(false);
+
+        assertTrue(stalled.isCancelled());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(Endpoint.ORDER_LIST).getState());
+    }
+
+    // === Deadline Tests ===
+
+    @Test
+    void testDeadlineFailsStalledCallAndAbortsExchange() {
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(stalled);
+
+        SePayHttpClient client = createClient();
+        SePayTimeoutException ex = assertThrows(SePayTimeoutException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class,
+                CallContext.withTimeout(Duration.ofMillis(50))));
+
+        assertEquals("Deadline exceeded", ex.getMessage());
+        assertThrows(CancellationException.class, () -> stalled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDeadlineCutsRequestTimeout() {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        client.get("https://api.example.com/test", ApiResponse.class, CallContext.withTimeout(Duration.ofSeconds(2)));
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(mockHttpClient).sendAsync(requestCaptor.capture(), any());
+        Duration timeout = requestCaptor.getValue().timeout().orElseThrow();
+        assertTrue(timeout.compareTo(Duration.ofSeconds(2)) <= 0);
+        assertTrue(timeout.compareTo(Duration.ofSeconds(1)) > 0);
+    }
+
+    @Test
+    void testRetrySkippedWhenBackoffPassesDeadline() {
+        when(mockResponse.statusCode()).thenReturn(503);
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Unavailable\"}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+        SePayClientConfig slowRetry = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(3)
+            .backoffPolicy(BackoffPolicy.linear(10_000))
+            .build();
+        SePayHttpClient client = new SePayHttpClient(slowRetry, objectMapper, mockHttpClient);
+
+        SePayTimeoutException ex = assertThrows(SePayTimeoutException.class, () ->
+            client.post("https://api.example.com/test", Map.of("order_id", "ord_1"), ApiResponse.class,
+                CallContext.withTimeout(Duration.ofSeconds(5))));
+
+        // Failed at once with the attempt's error instead of waiting out the deadline
+        assertTrue(ex.getCause() instanceof SePayServerException);
+        assertEquals("Unavailable", ex.getCause().getMessage());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testRetryWithinDeadline() {
+        when(mockResponse.statusCode()).thenReturn(503, 200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = createClient();
+        ApiResponse result = client.getAsync("https://api.example.com/test", ApiResponse.class,
+            CallContext.withTimeout(Duration.ofSeconds(5))).join();
+
+        assertTrue(result.isSuccess());
+        verify(mockHttpClient, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testExpiredContextSendsNothing() {
+        SePayHttpClient client = createClient();
+        CallContext expired = CallContext.withTimeout(Duration.ZERO);
+
+        assertThrows(SePayTimeoutException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class, expired));
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.postAsync("https://api.example.com/test", Map.of("order_id", "ord_1"), ApiResponse.class, expired)
+                .join());
+        assertTrue(ex.getCause() instanceof SePayTimeoutException);
+        verifyNoInteractions(mockHttpClient);
+    }
+
+    @Test
+    void testCancelContextAbortsRunningCalls() {
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(stalled);
+
+        SePayHttpClient client = createClient();
+        CallContext context = CallContext.cancellable();
+        CompletableFuture<ApiResponse> result = client.getAsync("https://api.example.com/test", ApiResponse.class, context);
+        context.cancel();
+
+        ExecutionException aborted = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(aborted.getCause() instanceof CancellationException);
+        assertTrue(stalled.isCancelled());
+        SePayException ex = assertThrows(SePayException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class, context));
+        assertEquals("Request cancelled", ex.getMessage());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testInterruptAbortsCallWithContext() throws Exception {
+        CompletableFuture<HttpResponse<byte[]>> stalled = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(stalled);
+        SePayHttpClient client = createClient();
+
+        Thread.currentThread().interrupt();
+        SePayException ex = assertThrows(SePayException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class, CallContext.cancellable()));
+
+        assertEquals("Request interrupted", ex.getMessage());
+        assertTrue(Thread.interrupted());
+        assertThrows(CancellationException.class, () -> stalled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testNullContextUsesPlainCall() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createClient();
+
+        assertTrue(client.get("https://api.example.com/test", ApiResponse.class, null).isSuccess());
+        verify(mockHttpClient).send(any(), any());
+    }
+
+    // === Retry Budget Tests ===
+
+    private SePayHttpClient createBudgetClient() {
+        SePayClientConfig budgeted = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(3)
+            .retryDelay(1)
+            .retryBudget(RetryBudgetConfig.builder().retryRatio(0.5).minRetriesPerSecond(0).build())
+            .build();
+        return new SePayHttpClient(budgeted, objectMapper, mockHttpClient);
+    }
+
+    @Test
+    void testRetryBudgetStopsRetriesDuringOutage() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(503);
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Unavailable\"}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = createBudgetClient();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(SePayServerException.class, () ->
+                client.get("https://api.example.com/test", ApiResponse.class));
+        }
+
+        // 4 calls earn 2 retries, instead of 3 retries each
+        verify(mockHttpClient, times(6)).send(any(), any());
+        assertEquals(2, client.getRetryBudget().getRetryCount());
+        assertTrue(client.getRetryBudget().getRejectedRetryCount() >= 2);
+    }
+
+    @Test
+    void testRetryBudgetAppliesToAsyncAndTransportErrors() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Connection refused")));
+
+        SePayHttpClient client = createBudgetClient();
+        for (int i = 0; i < 2; i++) {
+            CompletionException ex = assertThrows(CompletionException.class, () ->
+                client.getRawAsync("https://api.example.com/test").join());
+            assertTrue(ex.getCause().getMessage().contains("Connection refused"));
+        }
+
+        verify(mockHttpClient, times(3)).sendAsync(any(), any());
+        assertEquals(1, client.getRetryBudget().getRetryCount());
+    }
+
+    @Test
+    void testNoRetryBudgetByDefault() {
+        assertNull(createClient().getRetryBudget());
+    }
+
+    @Test
+    void testThrowingTransportFailsCallAndReleasesSlots() throws Exception {
+        AtomicInteger sends = new AtomicInteger();
+        SePayTransport transport = new SePayTransport() {
+            @Override
+            public TransportResponse send(HttpRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> sendAsync(HttpRequest request) {
+                if (sends.incrementAndGet() == 1) {
+                    return CompletableFuture.completedFuture(new TransportResponse(503, null, null));
+                }
+                // Thrown on the retry, which runs on an executor thread
+                throw new IllegalStateException("transport broken");
+            }
+        };
+        SePayHttpClient client = new SePayHttpClient(SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .transport(transport)
+            .maxRetries(2)
+            .retryDelay(1)
+            .maxConcurrentCalls(Endpoint.ORDER_DETAIL, 1)
+            .adaptiveConcurrency(1, 1)
+            .build(), objectMapper);
+
+        CompletableFuture<ApiResponse> result =
+            client.getAsync("https://api.example.com/v1/order/detail/ord_1", ApiResponse.class);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof SePayException);
+        assertTrue(error.getCause().getCause() instanceof IllegalStateException);
+        assertEquals(2, sends.get());
+        assertEquals(0, client.getBulkhead(Endpoint.ORDER_DETAIL).getActiveCalls());
+        assertEquals(0, client.getConcurrencyLimiter().getActiveCalls());
+    }
+
+    @Test
+    void testThrowingTransportReturnsBreakerPermitOnSyncPath() throws Exception {
+        AtomicInteger sends = new AtomicInteger();
+        SePayTransport transport = new SePayTransport() {
+            @Override
+            public TransportResponse send(HttpRequest request) {
+                switch (sends.incrementAndGet()) {
+                    case 1:
+                        return new TransportResponse(500, null, utf8("{}"));
+                    case 2:
+                        throw new IllegalStateException("transport broken");
+                    case 3:
+                        return null;
+                    default:
+                        return new TransportResponse(200, null, utf8("{\"success\":true}"));
+                }
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> sendAsync(HttpRequest request) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        SePayHttpClient client = new SePayHttpClient(SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .transport(transport)
+            .maxRetries(0)
+            .maxConcurrentCalls(Endpoint.ORDER_DETAIL, 1)
+            .circuitBreaker(CircuitBreakerConfig.builder()
+                .slidingWindowSize(1)
+                .minimumNumberOfCalls(1)
+                .waitDurationInOpenState(1)
+                .permittedCallsInHalfOpenState(1)
+                .build())
+            .build(), objectMapper);
+        String url = "https://api.example.com/v1/order/detail/ord_1";
+
+        assertThrows(SePayServerException.class, () -> client.get(url, ApiResponse.class));
+        Thread.sleep(5);
+        SePayException thrown = assertThrows(SePayException.class, () -> client.get(url, ApiResponse.class));
+        SePayException nullResponse = assertThrows(SePayException.class, () -> client.get(url, ApiResponse.class));
+
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+        assertTrue(nullResponse.getCause() instanceof IllegalStateException);
+        assertEquals(0, client.getBulkhead(Endpoint.ORDER_DETAIL).getActiveCalls());
+        // The half-open probe permit came back both times, so the next probe goes through
+        assertTrue(client.get(url, ApiResponse.class).isSuccess());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(Endpoint.ORDER_DETAIL).getState());
+    }
+
+    // === Warm-up Tests ===
+
+    @Test
+    void testWarmUpSendsHeadToEachHost() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+        // Any response proves the connection, whatever its status
+        when(mockResponse.statusCode()).thenReturn(405);
+
+        SePayHttpClient client = createClient();
+        assertTrue(client.warmUp("https://api.example.com", "https://pay.example.com", "https://api.example.com"));
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(mockHttpClient, times(2)).sendAsync(requestCaptor.capture(), any());
+        assertTrue(requestCaptor.getAllValues().stream().allMatch(request -> "HEAD".equals(request.method())));
+        assertTrue(requestCaptor.getAllValues().stream()
+            .noneMatch(request -> request.headers().firstValue("Authorization").isPresent()));
+    }
+
+    @Test
+    void testWarmUpReportsUnreachableHost() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Connection refused")));
+
+        SePayHttpClient client = createClient();
+
+        assertFalse(client.warmUp("https://api.example.com", "https://pay.example.com"));
+        assertFalse(client.warmUp("not a url"));
+    }
+
+    // === Executor Tests ===
+
+    @Test
+    void testConfiguredExecutorUsedForAsyncRetries() {
+        java.util.concurrent.atomic.AtomicInteger executed = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.Executor executor = task -> {
+            executed.incrementAndGet();
+            task.run();
+        };
+        SePayClientConfig executorConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(1)
+            .retryDelay(0)
+            .executor(executor)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(500, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = new SePayHttpClient(executorConfig, objectMapper, mockHttpClient);
+        ApiResponse result = client.getAsync("https://api.example.com/test", ApiResponse.class).join();
+
+        assertTrue(result.isSuccess());
+        assertSame(executor, client.getExecutor());
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void testVirtualThreadsFollowRuntimeSupport() {
+        SePayClientConfig virtualConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .virtualThreads(true)
+            .build();
+
+        SePayHttpClient client = new SePayHttpClient(virtualConfig);
+
+        assertEquals(VirtualThreads.isSupported(), client.getExecutor() != null);
+    }
+
+    // === Rate Limiter Tests ===
+
+    @Test
+    void testRateLimiterFailsFastWithoutSending() throws Exception {
+        SePayClientConfig limitedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .rateLimit(0.001)
+            .rateLimitBurst(1)
+            .rateLimitTimeout(0)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(limitedConfig, objectMapper, mockHttpClient);
+        client.get("https://api.example.com/test", ApiResponse.class);
+        SePayRateLimitException ex = assertThrows(SePayRateLimitException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertTrue(ex.getMessage().contains("Client-side"));
+        assertNotNull(ex.getRetryAfterSeconds());
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    void testRateLimiterFailsFastAsync() {
+        SePayClientConfig limitedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .rateLimit(0.001)
+            .rateLimitBurst(1)
+            .rateLimitTimeout(0)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = new SePayHttpClient(limitedConfig, objectMapper, mockHttpClient);
+        client.getRawAsync("https://api.example.com/test").join();
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getRawAsync("https://api.example.com/test").join()
+        );
+
+        assertInstanceOf(SePayRateLimitException.class, ex.getCause());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testRateLimiterWaitsAsyncForPermit() {
+        SePayClientConfig limitedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .rateLimit(50)
+            .rateLimitBurst(1)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = new SePayHttpClient(limitedConfig, objectMapper, mockHttpClient);
+        CompletableFuture<String> first = client.getRawAsync("https://api.example.com/test");
+        CompletableFuture<String> second = client.getRawAsync("https://api.example.com/test");
+
+        CompletableFuture.allOf(first, second).join();
+        verify(mockHttpClient, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testRateLimiterAdaptsOn429() throws Exception {
+        SePayClientConfig limitedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .rateLimit(1000)
+            .maxRetries(1)
+            .retryDelay(0)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(429, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(limitedConfig, objectMapper, mockHttpClient);
+        client.get("https://api.example.com/test", ApiResponse.class);
+
+        // Halved by the 429, then one additive step from the success
+        assertEquals(510, client.getRateLimiter().getPermitsPerSecond(), 0.001);
+    }
+
+    @Test
+    void testRateLimiterDisabledByDefault() {
+        assertNull(createClient().getRateLimiter());
+    }
+
+    // === Retry-After / Backoff Tests ===
+
+    private static HttpHeaders retryAfter(String value) {
+        return HttpHeaders.of(Map.of("Retry-After", List.of(value)), (name, v) -> true);
+    }
+
+    @Test
+    void testParseRetryAfterSeconds() {
+        assertEquals(120L, SePayHttpClient.parseRetryAfter(retryAfter("120")));
+        assertEquals(0L, SePayHttpClient.parseRetryAfter(retryAfter("-5")));
+    }
+
+    @Test
+    void testParseRetryAfterHttpDate() {
+        String date = ZonedDateTime.now(java.time.ZoneOffset.UTC).plusSeconds(30)
+            .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+
+        Long seconds = SePayHttpClient.parseRetryAfter(retryAfter(date));
+
+        assertNotNull(seconds);
+        assertTrue(seconds >= 28 && seconds <= 31, "was " + seconds);
+    }
+
+    @Test
+    void testParseRetryAfterMissingOrMalformed() {
+        assertNull(SePayHttpClient.parseRetryAfter(null));
+        assertNull(SePayHttpClient.parseRetryAfter(HttpHeaders.of(Map.of(), (name, v) -> true)));
+        assertNull(SePayHttpClient.parseRetryAfter(retryAfter("soon")));
+    }
+
+    @Test
+    void test429PopulatesRetryAfterSeconds() throws Exception {
+        SePayClientConfig noRetryConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(0)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(429);
+        when(mockResponse.body()).thenReturn(utf8("{\"message\":\"Slow down\"}"));
+        when(mockResponse.headers()).thenReturn(retryAfter("7"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(noRetryConfig, objectMapper, mockHttpClient);
+        SePayRateLimitException ex = assertThrows(SePayRateLimitException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertEquals(7L, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testRetryAfterBeyondMaxDelayFailsWithoutRetry() throws Exception {
+        SePayClientConfig cappedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(3)
+            .maxRetryDelay(1000)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(429);
+        when(mockResponse.body()).thenReturn(utf8("{}"));
+        when(mockResponse.headers()).thenReturn(retryAfter("60"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(cappedConfig, objectMapper, mockHttpClient);
+        SePayRateLimitException ex = assertThrows(SePayRateLimitException.class, () ->
+            client.get("https://api.example.com/test", ApiResponse.class)
+        );
+
+        assertEquals(60L, ex.getRetryAfterSeconds());
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    void testRetryAfterBeyondMaxDelayFailsAsync() {
+        SePayClientConfig cappedConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(3)
+            .maxRetryDelay(1000)
+            .build();
+        when(mockResponse.statusCode()).thenReturn(503);
+        when(mockResponse.body()).thenReturn(utf8(""));
+        when(mockResponse.headers()).thenReturn(retryAfter("60"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayHttpClient client = new SePayHttpClient(cappedConfig, objectMapper, mockHttpClient);
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getRawAsync("https://api.example.com/test").join()
+        );
+
+        assertInstanceOf(SePayServerException.class, ex.getCause());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testCustomBackoffPolicyReceivesPreviousDelay() throws Exception {
+        List<Long> previousDelays = new java.util.concurrent.CopyOnWriteArrayList<>();
+        SePayClientConfig policyConfig = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(2)
+            .backoffPolicy((attempt, previousDelayMs) -> {
+                previousDelays.add(previousDelayMs);
+                return attempt + 1;
+            })
+            .build();
+        when(mockResponse.statusCode()).thenReturn(500, 500, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(policyConfig, objectMapper, mockHttpClient);
+        client.get("https://api.example.com/test", ApiResponse.class);
+
+        assertEquals(List.of(0L, 1L), previousDelays);
+    }
+
+    // === Circuit Breaker Tests ===
+
+    private SePayClientConfig circuitConfig() {
+        return SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxRetries(1)
+            .retryDelay(0)
+            .circuitBreaker(CircuitBreakerConfig.builder()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build())
+            .build();
+    }
+
+    @Test
+    void testCircuitOpensAndFailsFast() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(500);
+        when(mockResponse.body()).thenReturn(utf8("{}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(circuitConfig(), objectMapper, mockHttpClient);
+        String url = "https://api.example.com/v1/order/detail/ord_1";
+        assertThrows(SePayServerException.class, () -> client.get(url, ApiResponse.class));
+
+        SePayCircuitOpenException ex = assertThrows(SePayCircuitOpenException.class, () ->
+            client.get(url, ApiResponse.class)
+        );
+
+        assertEquals("ORDER_DETAIL", ex.getEndpoint());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker(Endpoint.ORDER_DETAIL).getState());
+        verify(mockHttpClient, times(2)).send(any(), any());
+    }
+
+    @Test
+    void testCircuitIsPerEndpoint() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(500, 500, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayHttpClient client = new SePayHttpClient(circuitConfig(), objectMapper, mockHttpClient);
+        assertThrows(SePayServerException.class, () ->
+            client.get("https://api.example.com/v1/order/detail/ord_1", ApiResponse.class));
+
+        ApiResponse result = client.get("https://api.example.com/v1/order", ApiResponse.class);
+
+        assertTrue(result.isSuccess());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker(Endpoint.ORDER_LIST).getState());
+    }
+
+    @Test
+    void testCircuitOpenFailsAsync() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+
+        SePayHttpClient client = new SePayHttpClient(circuitConfig(), objectMapper, mockHttpClient);
+        String url = "https://api.example.com/v1/order/cancel";
+        assertThrows(CompletionException.class, () -> client.getRawAsync(url).join());
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> client.getRawAsync(url).join());
+
+        assertInstanceOf(SePayCircuitOpenException.class, ex.getCause());
+        verify(mockHttpClient, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testCircuitBreakerDisabledByDefault() {
+        assertNull(createClient().getCircuitBreaker(Endpoint.ORDER_DETAIL));
+    }
+
+    // === Bulkhead Tests ===
+
+    private SePayClientConfig bulkheadConfig() {
+        return SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxConcurrentCalls(Endpoint.ORDER_LIST, 1)
+            .bulkheadTimeout(0)
+            .build();
+    }
+
+    @Test
+    void testBulkheadRejectsWhenEndpointSaturated() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> {
+                HttpRequest request = invocation.getArgument(0);
+                if (request.uri().getPath().equals("/v1/order")) {
+                    sending.countDown();
+                    finish.await(5, TimeUnit.SECONDS);
+                }
+                return mockResponse;
+            });
+
+        SePayHttpClient client = new SePayHttpClient(bulkheadConfig(), objectMapper, mockHttpClient);
+        CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() ->
+            client.getRaw("https://api.example.com/v1/order"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        SePayBulkheadFullException ex = assertThrows(SePayBulkheadFullException.class, () ->
+            client.getRaw("https://api.example.com/v1/order?page=2"));
+        // Other endpoint families are unaffected
+        assertNotNull(client.getRaw("https://api.example.com/v1/order/detail/ord_1"));
+
+        finish.countDown();
+        slowCall.join();
+        assertEquals("ORDER_LIST", ex.getEndpoint());
+        assertEquals(0, client.getBulkhead(Endpoint.ORDER_LIST).getActiveCalls());
+    }
+
+    @Test
+    void testBulkheadQueuesAsyncCalls() {
+        CompletableFuture<HttpResponse<byte[]>> firstResponse = new CompletableFuture<>();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(utf8("{}"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(firstResponse)
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        SePayClientConfig queueing = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxConcurrentCalls(Endpoint.ORDER_LIST, 1)
+            .build();
+        SePayHttpClient client = new SePayHttpClient(queueing, objectMapper, mockHttpClient);
+        CompletableFuture<String> first = client.getRawAsync("https://api.example.com/v1/order");
+        CompletableFuture<String> second = client.getRawAsync("https://api.example.com/v1/order?page=2");
+
+        assertFalse(second.isDone());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+        assertEquals(1, client.getBulkhead(Endpoint.ORDER_LIST).getQueuedCalls());
+
+        firstResponse.complete(mockResponse);
+
+        assertEquals("{}", first.join());
+        assertEquals("{}", second.join());
+        verify(mockHttpClient, times(2)).sendAsync(any(), any());
+        assertEquals(0, client.getBulkhead(Endpoint.ORDER_LIST).getActiveCalls());
+    }
+
+    @Test
+    void testBulkheadRejectsAsyncWhenSaturated() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(new CompletableFuture<>());
+
+        SePayHttpClient client = new SePayHttpClient(bulkheadConfig(), objectMapper, mockHttpClient);
+        client.getRawAsync("https://api.example.com/v1/order");
+
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getRawAsync("https://api.example.com/v1/order").join()
+        );
+
+        assertInstanceOf(SePayBulkheadFullException.class, ex.getCause());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testBulkheadsDisabledByDefault() {
+        assertNull(createClient().getBulkhead(Endpoint.ORDER_LIST));
+    }
+
+    // === Adaptive Concurrency Tests ===
+
+    @Test
+    void testAdaptiveLimitBacksOffOnRetryableStatus() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(503, 200);
+        when(mockResponse.body()).thenReturn(utf8("{}"), utf8("{\"success\":true}"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(mockResponse);
+
+        SePayClientConfig adaptive = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .retryDelay(0)
+            .adaptiveConcurrency(10, 10)
+            .build();
+        SePayHttpClient client = new SePayHttpClient(adaptive, objectMapper, mockHttpClient);
+        client.get("https://api.example.com/test", ApiResponse.class);
+
+        AdaptiveConcurrencyLimiter limiter = client.getConcurrencyLimiter();
+        assertEquals(9, limiter.getLimit());
+        assertEquals(0, limiter.getActiveCalls());
+    }
+
+    @Test
+    void testAdaptiveLimitRejectsWhenSaturated() {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(new CompletableFuture<>());
+
+        SePayClientConfig adaptive = SePayClientConfig.builder("SP-TEST-123", "secret-key-456")
+            .maxConcurrentCalls(Endpoint.ORDER_LIST, 5)
+            .adaptiveConcurrency(1, 10)
+            .bulkheadTimeout(0)
+            .build();
+        SePayHttpClient client = new SePayHttpClient(adaptive, objectMapper, mockHttpClient);
+        client.getRawAsync("https://api.example.com/v1/order");
+
+        CompletionException ex = assertThrows(CompletionException.class, () ->
+            client.getRawAsync("https://api.example.com/v1/order").join()
+        );
+
+        SePayBulkheadFullException cause = assertInstanceOf(SePayBulkheadFullException.class, ex.getCause());
+        assertNull(cause.getEndpoint());
+        // The endpoint slot taken before the adaptive limit rejected is returned
+        assertEquals(1, client.getBulkhead(Endpoint.ORDER_LIST).getActiveCalls());
+    }
+
+    @Test
+    void testAdaptiveConcurrencyDisabledByDefault() {
+        assertNull(createClient().getConcurrencyLimiter());
+    }
+
     // Helper class for POST tests
     static class TestRequest {
         private String field;
@@ -0,0 +1,92 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SePayTransportRegistryTest {
+
+    @Test
+    void sameSettings_shareHttpClient() {
+        SePayTransportRegistry registry = new SePayTransportRegistry();
+
+        SePayHttpClient first = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a")
+                .transportRegistry(registry)
+                .build());
+        SePayHttpClient second = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_B", "secret-b")
+                .transportRegistry(registry)
+                .build());
+
+        assertSame(first.getHttpClient(), second.getHttpClient());
+        assertNotEquals(first.getAuthHeader(), second.getAuthHeader());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void differentConnectTimeout_separateHttpClient() {
+        SePayTransportRegistry registry = new SePayTransportRegistry();
+
+        SePayHttpClient first = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a")
+                .transportRegistry(registry)
+                .connectTimeout(1000)
+                .build());
+        SePayHttpClient second = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_B", "secret-b")
+                .transportRegistry(registry)
+                .connectTimeout(2000)
+                .build());
+
+        assertNotSame(first.getHttpClient(), second.getHttpClient());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void differentHttpVersion_separateHttpClient() {
+        SePayTransportRegistry registry = new SePayTransportRegistry();
+
+        SePayHttpClient first = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a")
+                .transportRegistry(registry)
+                .build());
+        SePayHttpClient second = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_B", "secret-b")
+                .transportRegistry(registry)
+                .httpVersion(HttpClient.Version.HTTP_1_1)
+                .build());
+
+        assertEquals(HttpClient.Version.HTTP_2, first.getHttpClient().version());
+        assertEquals(HttpClient.Version.HTTP_1_1, second.getHttpClient().version());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void customExecutor_keyedByIdentity() {
+        SePayTransportRegistry registry = new SePayTransportRegistry();
+        Executor executor = Runnable::run;
+
+        SePayHttpClient first = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a")
+                .transportRegistry(registry)
+                .executor(executor)
+                .build());
+        SePayHttpClient second = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_B", "secret-b")
+                .transportRegistry(registry)
+                .executor(executor)
+                .build());
+
+        assertSame(first.getHttpClient(), second.getHttpClient());
+        assertSame(executor, first.getExecutor());
+    }
+
+    @Test
+    void withoutRegistry_ownHttpClient() {
+        SePayHttpClient first = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a").build());
+        SePayHttpClient second = new SePayHttpClient(SePayClientConfig.builder("MERCHANT_A", "secret-a").build());
+
+        assertNotSame(first.getHttpClient(), second.getHttpClient());
+    }
+
+    @Test
+    void shared_isSingleton() {
+        assertSame(SePayTransportRegistry.shared(), SePayTransportRegistry.shared());
+    }
+}
@@ -0,0 +1,98 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000_000L);
+    }
+
+    @Test
+    void burstThenSpacedAtRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void tryReserve_returnsWaitWithoutConsuming() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, clock::get);
+
+        assertEquals(0, limiter.tryReserve());
+        long wait = limiter.tryReserve();
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        assertEquals(wait, limiter.tryReserve());
+    }
+
+    @Test
+    void tryAcquire_timeoutTooShort_returnsFalse() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, clock::get);
+
+        assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertFalse(limiter.tryAcquire(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void tryAcquire_waitsForPermit() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1);
+
+        assertTrue(limiter.tryAcquire());
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire(1, TimeUnit.SECONDS));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void onRateLimited_halvesRateDownToFloor() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, clock::get);
+
+        limiter.onRateLimited();
+        assertEquals(50, limiter.getPermitsPerSecond(), 0.001);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onRateLimited();
+        }
+        assertEquals(10, limiter.getPermitsPerSecond(), 0.001);
+    }
+
+    @Test
+    void onSuccess_recoversAdditivelyUpToMax() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, clock::get);
+        limiter.onRateLimited();
+
+        limiter.onSuccess();
+        assertEquals(51, limiter.getPermitsPerSecond(), 0.001);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(100, limiter.getPermitsPerSecond(), 0.001);
+        assertEquals(100, limiter.getMaxPermitsPerSecond(), 0.001);
+    }
+
+    @Test
+    void invalidArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0));
+    }
+}
@@ -0,0 +1,35 @@
+package suprim.sepay.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransportResponseTest {
+
+    @Test
+    void testNullHeadersAndBodyDefaultToEmpty() {
+        TransportResponse response = new TransportResponse(204, null, null);
+
+        assertEquals(204, response.getStatusCode());
+        assertTrue(response.getHeaders().map().isEmpty());
+        assertEquals(0, response.getBody().length);
+    }
+
+    @Test
+    void testKeepsHeadersAndBody() {
+        HttpHeaders headers = HttpHeaders.of(Map.of("Retry-After", List.of("3")), (name, value) -> true);
+        TransportResponse response = new TransportResponse(429, headers, new byte[] {1, 2});
+
+        assertEquals("3", response.getHeaders().firstValue("Retry-After").orElse(null));
+        assertArrayEquals(new byte[] {1, 2}, response.getBody());
+    }
+
+    @Test
+    void testJdkTransportRejectsNullClient() {
+        assertThrows(IllegalArgumentException.class, () -> new JdkHttpTransport(null));
+    }
+}
@@ -0,0 +1,33 @@
+package suprim.sepay.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointTest {
+
+    @Test
+    void classifiesUrlConfigUrls() {
+        assertEquals(Endpoint.ORDER_DETAIL,
+                Endpoint.of(URI.create(UrlConfig.getOrderDetailUrl(Environment.SANDBOX, "ord_1"))));
+        assertEquals(Endpoint.ORDER_LIST,
+                Endpoint.of(URI.create(UrlConfig.getOrderListUrl(Environment.PRODUCTION) + "?page=2")));
+        assertEquals(Endpoint.ORDER_VOID, Endpoint.of(URI.create(UrlConfig.getVoidUrl(Environment.SANDBOX))));
+        assertEquals(Endpoint.ORDER_CANCEL, Endpoint.of(URI.create(UrlConfig.getCancelUrl(Environment.SANDBOX))));
+        assertEquals(Endpoint.CHECKOUT_INIT,
+                Endpoint.of(URI.create(UrlConfig.getCheckoutInitUrl(Environment.SANDBOX))));
+    }
+
+    @Test
+    void ignoresHost() {
+        assertEquals(Endpoint.ORDER_DETAIL, Endpoint.of(URI.create("http://localhost:8080/v1/order/detail/ord_1")));
+    }
+
+    @Test
+    void unknownPath_isOther() {
+        assertEquals(Endpoint.OTHER, Endpoint.of(URI.create("https://api.example.com/test")));
+        assertEquals(Endpoint.OTHER, Endpoint.of(null));
+    }
+}
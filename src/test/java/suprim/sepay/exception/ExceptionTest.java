@@ -89,6 +89,30 @@ class ExceptionTest {
         assertEquals(cause, ex.getCause());
     }
 
+    @Test
+    void sePayRateLimitException_errorDetails() {
+        SePayRateLimitException ex = new SePayRateLimitException("Slow down", "RATE_LIMITED", 30L, "req_1");
+        assertEquals(429, ex.getStatusCode());
+        assertEquals("RATE_LIMITED", ex.getErrorCode());
+        assertEquals(30L, ex.getRetryAfterSeconds());
+        assertEquals("req_1", ex.getRequestId());
+    }
+
+    @Test
+    void sePayApiException_errorDetailsDefaultToNull() {
+        SePayApiException ex = new SePayApiException("Bad request", 400, "INVALID");
+        assertNull(ex.getRetryAfterSeconds());
+        assertNull(ex.getRequestId());
+    }
+
+    @Test
+    void sePayNotFoundException_defaultsErrorCode() {
+        SePayNotFoundException ex = new SePayNotFoundException("Missing", null, "req_2");
+        assertEquals("NOT_FOUND", ex.getErrorCode());
+        assertEquals("req_2", ex.getRequestId());
+        assertEquals("ORDER_NOT_FOUND", new SePayNotFoundException("Missing", "ORDER_NOT_FOUND", null).getErrorCode());
+    }
+
     // SePayServerException tests
 
     @Test
@@ -237,4 +261,24 @@ class ExceptionTest {
         SePayValidationException ex = new SePayValidationException("Test");
         assertTrue(ex instanceof SePayWebhookException);
     }
+
+    // SePayCircuitOpenException tests
+
+    @Test
+    void sePayCircuitOpenException_endpoint() {
+        SePayCircuitOpenException ex = new SePayCircuitOpenException("Circuit open", "ORDER_LIST");
+        assertEquals("Circuit open", ex.getMessage());
+        assertEquals("ORDER_LIST", ex.getEndpoint());
+        assertInstanceOf(SePayException.class, ex);
+    }
+
+    // SePayBulkheadFullException tests
+
+    @Test
+    void sePayBulkheadFullException_endpoint() {
+        SePayBulkheadFullException ex = new SePayBulkheadFullException("Limit reached", "ORDER_LIST");
+        assertEquals("Limit reached", ex.getMessage());
+        assertEquals("ORDER_LIST", ex.getEndpoint());
+        assertInstanceOf(SePayException.class, ex);
+    }
 }
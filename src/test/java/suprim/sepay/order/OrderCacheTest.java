@@ -0,0 +1,174 @@
+package suprim.sepay.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCacheTest {
+
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+    }
+
+    private static Order order(String id, OrderStatus status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(status);
+        return order;
+    }
+
+    private void advanceMs(long ms) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void get_returnsCachedOrderAndCountsHits() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        Order order = order("ord_1", OrderStatus.COMPLETED);
+        cache.put(order);
+
+        assertSame(order, cache.get("ord_1"));
+        assertNull(cache.get("ord_2"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    void pendingOrdersExpireAfterPendingTtl() {
+        OrderCache cache = OrderCache.builder().pendingTtl(1000).terminalTtl(60_000).build(clock::get);
+        cache.put(order("ord_pending", OrderStatus.PENDING));
+        cache.put(order("ord_done", OrderStatus.VOIDED));
+
+        advanceMs(1000);
+
+        assertNull(cache.get("ord_pending"));
+        assertNotNull(cache.get("ord_done"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void terminalOrdersExpireAfterTerminalTtl() {
+        OrderCache cache = OrderCache.builder().terminalTtl(60_000).build(clock::get);
+        cache.put(order("ord_1", OrderStatus.CANCELLED));
+
+        advanceMs(60_000);
+
+        assertNull(cache.get("ord_1"));
+    }
+
+    @Test
+    void zeroPendingTtlNeverCachesPendingOrders() {
+        OrderCache cache = OrderCache.builder().pendingTtl(0).build(clock::get);
+        cache.put(order("ord_1", OrderStatus.COMPLETED));
+
+        // A pending order replaces nothing but drops the stale terminal entry
+        cache.put(order("ord_1", OrderStatus.PENDING));
+
+        assertNull(cache.get("ord_1"));
+    }
+
+    @Test
+    void evictsOldestBeyondMaxSize() {
+        OrderCache cache = OrderCache.builder().maxSize(2).build(clock::get);
+        cache.put(order("ord_1", OrderStatus.COMPLETED));
+        cache.put(order("ord_2", OrderStatus.COMPLETED));
+        cache.put(order("ord_3", OrderStatus.COMPLETED));
+
+        assertNull(cache.get("ord_1"));
+        assertNotNull(cache.get("ord_2"));
+        assertNotNull(cache.get("ord_3"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void replacingAnEntryDoesNotEvictIt() {
+        OrderCache cache = OrderCache.builder().maxSize(2).build(clock::get);
+        cache.put(order("ord_1", OrderStatus.PENDING));
+        cache.put(order("ord_2", OrderStatus.COMPLETED));
+        for (int i = 0; i < 10; i++) {
+            cache.put(order("ord_2", OrderStatus.COMPLETED));
+        }
+
+        assertNotNull(cache.get("ord_1"));
+        assertNotNull(cache.get("ord_2"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void ignoresOrdersWithoutId() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        cache.put(null);
+        cache.put(new Order());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateRemovesEntries() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        cache.put(order("ord_1", OrderStatus.COMPLETED));
+        cache.put(order("ord_2", OrderStatus.COMPLETED));
+
+        cache.invalidate("ord_1");
+        assertNull(cache.get("ord_1"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void readStartedBeforeWriteDoesNotOverwriteIt() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        long readGeneration = cache.readGeneration();
+        Order voided = order("ord_1", OrderStatus.VOIDED);
+
+        cache.invalidate("ord_1");
+        cache.put(voided);
+        cache.put(order("ord_1", OrderStatus.COMPLETED), readGeneration);
+
+        assertSame(voided, cache.get("ord_1"));
+    }
+
+    @Test
+    void readStartedBeforeInvalidateIsNotCached() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        long readGeneration = cache.readGeneration();
+
+        cache.invalidate("ord_1");
+        cache.put(order("ord_1", OrderStatus.COMPLETED), readGeneration);
+
+        assertNull(cache.get("ord_1"));
+    }
+
+    @Test
+    void readStartedAfterWriteReplacesIt() {
+        OrderCache cache = OrderCache.builder().build(clock::get);
+        cache.put(order("ord_1", OrderStatus.PENDING));
+        long readGeneration = cache.readGeneration();
+        Order completed = order("ord_1", OrderStatus.COMPLETED);
+
+        cache.put(completed, readGeneration);
+
+        assertSame(completed, cache.get("ord_1"));
+    }
+
+    @Test
+    void hitRateIsZeroBeforeLookups() {
+        assertEquals(0, OrderCache.builder().build().getHitRate());
+    }
+
+    @Test
+    void builderRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCache.builder().maxSize(0));
+        assertThrows(IllegalArgumentException.class, () -> OrderCache.builder().terminalTtl(-1));
+        assertThrows(IllegalArgumentException.class, () -> OrderCache.builder().pendingTtl(-1));
+    }
+}
@@ -43,6 +43,28 @@ class OrderListRequestTest {
         assertEquals("created_at:desc", request.getSort());
     }
 
+    @Test
+    void toBuilder_copiesAllFields() {
+        OrderListRequest request = OrderListRequest.builder()
+                .perPage(50)
+                .page(3)
+                .query("test search")
+                .customerId("cust_123")
+                .status(OrderStatus.COMPLETED)
+                .fromDate(LocalDate.of(2024, 1, 1))
+                .toDate(LocalDate.of(2024, 6, 30))
+                .sort("created_at:desc")
+                .build();
+
+        OrderListRequest copy = request.toBuilder().page(4).build();
+
+        assertEquals(4, copy.getPage());
+        assertEquals(3, request.getPage());
+        Map<String, String> expected = request.toQueryParams();
+        expected.put("page", "4");
+        assertEquals(expected, copy.toQueryParams());
+    }
+
     @Test
     void toQueryParams_allFields() {
         OrderListRequest request = OrderListRequest.builder()
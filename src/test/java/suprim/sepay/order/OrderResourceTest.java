@@ -3,10 +3,28 @@ package suprim.sepay.order;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import suprim.sepay.client.CallContext;
 import suprim.sepay.client.SePayHttpClient;
 import suprim.sepay.config.Environment;
+import suprim.sepay.exception.SePayException;
+import suprim.sepay.exception.SePayNotFoundException;
+import suprim.sepay.exception.SePayTimeoutException;
 import suprim.sepay.exception.SePayValidationException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -234,6 +252,585 @@ class OrderResourceTest {
         assertFalse(urlCaptor.getValue().contains("sandbox"));
     }
 
+    @Test
+    void retrieveAsync_success() {
+        Order expected = new Order();
+        expected.setId("ord_123");
+        when(mockClient.getAsync(anyString(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(expected));
+
+        Order result = orderResource.retrieveAsync("ord_123").join();
+
+        assertEquals("ord_123", result.getId());
+        ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockClient).getAsync(urlCaptor.capture(), eq(Order.class));
+        assertTrue(urlCaptor.getValue().contains("order/detail/ord_123"));
+    }
+
+    @Test
+    void retrieveAsync_emptyOrderId_throws() {
+        assertThrows(SePayValidationException.class,
+                () -> orderResource.retrieveAsync(""));
+    }
+
+    @Test
+    void listAsync_withFilters() {
+        OrderListResponse response = new OrderListResponse();
+        when(mockClient.getAsync(anyString(), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        OrderListResponse result = orderResource.listAsync(OrderListRequest.builder()
+                .page(3)
+                .status(OrderStatus.PENDING)
+                .build()).join();
+
+        assertSame(response, result);
+        ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockClient).getAsync(urlCaptor.capture(), eq(OrderListResponse.class));
+        assertTrue(urlCaptor.getValue().contains("page=3"));
+        assertTrue(urlCaptor.getValue().contains("order_status=pending"));
+    }
+
+    @Test
+    void cancelAsync_sendsCorrectBody() {
+        Order cancelled = new Order();
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(cancelled));
+
+        Order result = orderResource.cancelAsync("ord_789").join();
+
+        assertEquals(OrderStatus.CANCELLED, result.getStatus());
+        ArgumentCaptor<Object> bodyCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(mockClient).postAsync(contains("cancel"), bodyCaptor.capture(), eq(Order.class));
+        assertEquals("ord_789", ((CancelRequest) bodyCaptor.getValue()).getOrderId());
+    }
+
+    @Test
+    void voidTransactionAsync_withReason() {
+        Order voided = new Order();
+        voided.setStatus(OrderStatus.VOIDED);
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(voided));
+
+        Order result = orderResource.voidTransactionAsync("ord_123", "Customer request").join();
+
+        assertEquals(OrderStatus.VOIDED, result.getStatus());
+        ArgumentCaptor<Object> bodyCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(mockClient).postAsync(contains("voidTransaction"), bodyCaptor.capture(), eq(Order.class));
+        assertEquals("Customer request", ((VoidRequest) bodyCaptor.getValue()).getReason());
+    }
+
+    @Test
+    void retrieve_concurrentCallsShareOneRequest() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Order order = new Order();
+        when(mockClient.get(anyString(), eq(Order.class))).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return order;
+        });
+
+        CompletableFuture<Order> first = CompletableFuture.supplyAsync(() -> orderResource.retrieve("ord_123"));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> second = CompletableFuture.supplyAsync(() -> orderResource.retrieve("ord_123"));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(order, first.get(5, TimeUnit.SECONDS));
+        assertSame(order, second.get(5, TimeUnit.SECONDS));
+        verify(mockClient, times(1)).get(anyString(), eq(Order.class));
+    }
+
+    @Test
+    void retrieve_waitingCallerCanBeInterrupted() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.get(anyString(), eq(Order.class))).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Order();
+        });
+        CompletableFuture<Order> leader = CompletableFuture.supplyAsync(() -> orderResource.retrieve("ord_123"));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Throwable> followerError = new CompletableFuture<>();
+        Thread follower = new Thread(() -> {
+            try {
+                orderResource.retrieve("ord_123");
+                followerError.complete(null);
+            } catch (Throwable e) {
+                followerError.complete(Thread.currentThread().isInterrupted() ? e : null);
+            }
+        });
+
+        follower.start();
+        Thread.sleep(50);
+        follower.interrupt();
+
+        assertTrue(followerError.get(5, TimeUnit.SECONDS) instanceof SePayException);
+        release.countDown();
+        assertNotNull(leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retrieve_errorInLeaderReleasesWaitingCallers() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Order order = new Order();
+        when(mockClient.get(anyString(), eq(Order.class)))
+                .thenAnswer(invocation -> {
+                    fetching.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new StackOverflowError();
+                })
+                .thenReturn(order);
+
+        CompletableFuture<Order> leader = CompletableFuture.supplyAsync(() -> orderResource.retrieve("ord_123"));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> follower = CompletableFuture.supplyAsync(() -> orderResource.retrieve("ord_123"));
+        Thread.sleep(50);
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(leaderError.getCause() instanceof StackOverflowError);
+        assertTrue(followerError.getCause() instanceof StackOverflowError);
+        // The failed flight is gone, so the next retrieve makes a new call
+        assertSame(order, orderResource.retrieve("ord_123"));
+    }
+
+    @Test
+    void retrieve_failureIsNotRemembered() {
+        Order order = new Order();
+        when(mockClient.get(anyString(), eq(Order.class)))
+                .thenThrow(new SePayNotFoundException("Order not found"))
+                .thenReturn(order);
+
+        assertThrows(SePayNotFoundException.class, () -> orderResource.retrieve("ord_123"));
+
+        assertSame(order, orderResource.retrieve("ord_123"));
+    }
+
+    @Test
+    void retrieveAsync_concurrentCallsShareOneRequest() {
+        CompletableFuture<Order> response = new CompletableFuture<>();
+        when(mockClient.getAsync(anyString(), eq(Order.class))).thenReturn(response);
+
+        CompletableFuture<Order> first = orderResource.retrieveAsync("ord_123");
+        CompletableFuture<Order> second = orderResource.retrieveAsync("ord_123");
+        CompletableFuture<Order> other = orderResource.retrieveAsync("ord_456");
+        // Cancelling one caller's future leaves the shared call running
+        first.cancel(false);
+        Order order = new Order();
+        response.complete(order);
+
+        assertSame(order, second.join());
+        assertSame(order, other.join());
+        verify(mockClient, times(1)).getAsync(contains("ord_123"), eq(Order.class));
+    }
+
+    @Test
+    void retrieveAsync_completedCallIsNotShared() {
+        when(mockClient.getAsync(anyString(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Order()));
+
+        orderResource.retrieveAsync("ord_123").join();
+        orderResource.retrieveAsync("ord_123").join();
+
+        verify(mockClient, times(2)).getAsync(anyString(), eq(Order.class));
+    }
+
+    @Test
+    void retrieve_readsThroughCache() {
+        OrderResource cached = new OrderResource(mockClient, Environment.SANDBOX, OrderCache.builder().build());
+        Order order = new Order();
+        order.setId("ord_123");
+        order.setStatus(OrderStatus.COMPLETED);
+        when(mockClient.get(anyString(), eq(Order.class))).thenReturn(order);
+
+        cached.retrieve("ord_123");
+        Order result = cached.retrieve("ord_123");
+
+        assertSame(order, result);
+        assertSame(order, cached.retrieveAsync("ord_123").join());
+        verify(mockClient, times(1)).get(anyString(), eq(Order.class));
+        assertEquals(2, cached.getCache().getHitCount());
+    }
+
+    @Test
+    void retrieveAsync_populatesCache() {
+        OrderCache cache = OrderCache.builder().build();
+        OrderResource cached = new OrderResource(mockClient, Environment.SANDBOX, cache);
+        Order order = new Order();
+        order.setId("ord_123");
+        order.setStatus(OrderStatus.PENDING);
+        when(mockClient.getAsync(anyString(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(order));
+
+        cached.retrieveAsync("ord_123").join();
+
+        assertSame(order, cache.get("ord_123"));
+    }
+
+    @Test
+    void cancel_refreshesCachedOrder() {
+        OrderCache cache = OrderCache.builder().build();
+        OrderResource cached = new OrderResource(mockClient, Environment.SANDBOX, cache);
+        Order pending = new Order();
+        pending.setId("ord_123");
+        pending.setStatus(OrderStatus.PENDING);
+        cache.put(pending);
+        Order cancelled = new Order();
+        cancelled.setId("ord_123");
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        when(mockClient.post(anyString(), any(), eq(Order.class))).thenReturn(cancelled);
+
+        cached.cancel("ord_123");
+
+        assertSame(cancelled, cache.get("ord_123"));
+    }
+
+    @Test
+    void voidTransaction_notOverwrittenBySlowerRetrieve() {
+        OrderCache cache = OrderCache.builder().build();
+        OrderResource cached = new OrderResource(mockClient, Environment.SANDBOX, cache);
+        Order completed = new Order();
+        completed.setId("ord_123");
+        completed.setStatus(OrderStatus.COMPLETED);
+        Order voided = new Order();
+        voided.setId("ord_123");
+        voided.setStatus(OrderStatus.VOIDED);
+        CompletableFuture<Order> slowRetrieve = new CompletableFuture<>();
+        when(mockClient.getAsync(anyString(), eq(Order.class))).thenReturn(slowRetrieve);
+        when(mockClient.post(anyString(), any(), eq(Order.class))).thenReturn(voided);
+
+        CompletableFuture<Order> retrieved = cached.retrieveAsync("ord_123");
+        cached.voidTransaction("ord_123");
+        // The retrieve was answered before the void but arrives after it
+        slowRetrieve.complete(completed);
+
+        assertSame(completed, retrieved.join());
+        assertSame(voided, cache.get("ord_123"));
+    }
+
+    @Test
+    void voidTransaction_invalidatesCacheWhenResponseHasNoId() {
+        OrderCache cache = OrderCache.builder().build();
+        OrderResource cached = new OrderResource(mockClient, Environment.SANDBOX, cache);
+        Order completed = new Order();
+        completed.setId("ord_123");
+        completed.setStatus(OrderStatus.COMPLETED);
+        cache.put(completed);
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Order()));
+
+        cached.voidTransactionAsync("ord_123").join();
+
+        assertNull(cache.get("ord_123"));
+    }
+
+    @Test
+    void retrieve_withContextPassesContextAndSkipsSharing() {
+        CallContext context = CallContext.withTimeout(Duration.ofSeconds(1));
+        Order order = new Order();
+        CompletableFuture<Order> shared = new CompletableFuture<>();
+        when(mockClient.getAsync(anyString(), eq(Order.class))).thenReturn(shared);
+        when(mockClient.get(anyString(), eq(Order.class), same(context))).thenReturn(order);
+
+        orderResource.retrieveAsync("ord_123");
+        Order result = orderResource.retrieve("ord_123", context);
+
+        // Does not wait on the shared call, which the deadline does not cover
+        assertSame(order, result);
+        verify(mockClient).get(contains("order/detail/ord_123"), eq(Order.class), same(context));
+    }
+
+    @Test
+    void contextOperations_passContextToClient() {
+        CallContext context = CallContext.cancellable();
+        Order order = new Order();
+        when(mockClient.post(anyString(), any(), eq(Order.class), same(context))).thenReturn(order);
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class), same(context)))
+                .thenReturn(CompletableFuture.completedFuture(order));
+        when(mockClient.getAsync(anyString(), eq(OrderListResponse.class), same(context)))
+                .thenReturn(CompletableFuture.completedFuture(new OrderListResponse()));
+
+        assertSame(order, orderResource.cancel("ord_1", context));
+        assertSame(order, orderResource.voidTransaction("ord_2", "Refund", context));
+        assertSame(order, orderResource.cancelAsync("ord_3", context).join());
+        assertSame(order, orderResource.voidTransactionAsync("ord_4", null, context).join());
+        assertNotNull(orderResource.listAsync(OrderListRequest.builder().build(), context).join());
+
+        verify(mockClient).post(contains("cancel"), any(CancelRequest.class), eq(Order.class), same(context));
+        verify(mockClient).post(contains("voidTransaction"), any(VoidRequest.class), eq(Order.class), same(context));
+        verify(mockClient).postAsync(contains("cancel"), any(CancelRequest.class), eq(Order.class), same(context));
+        verify(mockClient).postAsync(contains("voidTransaction"), any(VoidRequest.class), eq(Order.class), same(context));
+    }
+
+    @Test
+    void contextOperations_propagateTimeout() {
+        CallContext context = CallContext.withTimeout(Duration.ofMillis(10));
+        when(mockClient.post(anyString(), any(), eq(Order.class), same(context)))
+                .thenThrow(new SePayTimeoutException("Deadline exceeded"));
+
+        assertThrows(SePayTimeoutException.class, () -> orderResource.cancel("ord_123", context));
+    }
+
+    private static OrderListResponse page(int page, int totalPages, String... orderIds) {
+        OrderListResponse response = new OrderListResponse();
+        List<Order> orders = new ArrayList<>();
+        for (String id : orderIds) {
+            Order order = new Order();
+            order.setId(id);
+            orders.add(order);
+        }
+        response.setData(orders);
+        response.setPage(page);
+        response.setTotalPages(totalPages);
+        return response;
+    }
+
+    private void stubPage(int page, OrderListResponse response) {
+        when(mockClient.getAsync(matches(".*[?&]page=" + page + "(&.*)?$"), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+    }
+
+    @Test
+    void listAll_iteratesAllPagesLazily() {
+        stubPage(1, page(1, 3, "ord_1", "ord_2"));
+        stubPage(2, page(2, 3, "ord_3"));
+        stubPage(3, page(3, 3, "ord_4"));
+
+        Iterable<Order> orders = orderResource.listAll(OrderListRequest.builder().build());
+        verifyNoInteractions(mockClient);
+
+        Iterator<Order> it = orders.iterator();
+        assertEquals("ord_1", it.next().getId());
+        // The next page is prefetched while the current one is consumed
+        verify(mockClient, times(2)).getAsync(anyString(), eq(OrderListResponse.class));
+
+        List<String> ids = new ArrayList<>();
+        orders.forEach(order -> ids.add(order.getId()));
+        assertEquals(Arrays.asList("ord_1", "ord_2", "ord_3", "ord_4"), ids);
+    }
+
+    @Test
+    void listAll_keepsFiltersAndStartPage() {
+        stubPage(2, page(2, 2, "ord_3"));
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder()
+                .page(2)
+                .status(OrderStatus.PENDING)
+                .build()).iterator();
+
+        assertEquals("ord_3", it.next().getId());
+        assertFalse(it.hasNext());
+        verify(mockClient).getAsync(contains("order_status=pending"), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void listAll_stopsOnEmptyPage() {
+        stubPage(1, page(1, 5));
+
+        assertFalse(orderResource.listAll(OrderListRequest.builder().build()).iterator().hasNext());
+        verify(mockClient, times(1)).getAsync(anyString(), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void listAll_propagatesPageFailure() {
+        stubPage(1, page(1, 2, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.failedFuture(new SePayNotFoundException("gone")));
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder().build()).iterator();
+        it.next();
+
+        assertThrows(SePayNotFoundException.class, it::hasNext);
+    }
+
+    @Test
+    void streamAll_closeCancelsPrefetch() {
+        CompletableFuture<OrderListResponse> pending = new CompletableFuture<>();
+        stubPage(1, page(1, 2, "ord_1", "ord_2"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class)))
+                .thenReturn(pending);
+
+        try (Stream<Order> orders = orderResource.streamAll(OrderListRequest.builder().build())) {
+            assertEquals(Arrays.asList("ord_1", "ord_2"),
+                    orders.limit(2).map(Order::getId).collect(Collectors.toList()));
+        }
+
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void listAllParallel_fetchesRemainingPagesConcurrently() {
+        CompletableFuture<OrderListResponse> second = new CompletableFuture<>();
+        CompletableFuture<OrderListResponse> third = new CompletableFuture<>();
+        stubPage(1, page(1, 4, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class))).thenReturn(second);
+        when(mockClient.getAsync(matches(".*[?&]page=3(&.*)?$"), eq(OrderListResponse.class))).thenReturn(third);
+        stubPage(4, page(4, 4, "ord_4"));
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder().build(), 2, true).iterator();
+        assertEquals("ord_1", it.next().getId());
+
+        // Pages 2 and 3 are in flight together; page 4 waits for a free slot
+        verify(mockClient, times(3)).getAsync(anyString(), eq(OrderListResponse.class));
+        third.complete(page(3, 4, "ord_3"));
+        second.complete(page(2, 4, "ord_2"));
+
+        List<String> ids = new ArrayList<>();
+        it.forEachRemaining(order -> ids.add(order.getId()));
+        assertEquals(Arrays.asList("ord_2", "ord_3", "ord_4"), ids);
+    }
+
+    @Test
+    void listAllParallel_unorderedYieldsPagesAsTheyArrive() {
+        CompletableFuture<OrderListResponse> second = new CompletableFuture<>();
+        stubPage(1, page(1, 3, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class))).thenReturn(second);
+        stubPage(3, page(3, 3, "ord_3"));
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder().build(), 4, false).iterator();
+        assertEquals("ord_1", it.next().getId());
+        assertEquals("ord_3", it.next().getId());
+        second.complete(page(2, 3, "ord_2"));
+
+        assertEquals("ord_2", it.next().getId());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void listAllParallel_singlePage() {
+        stubPage(1, page(1, 1, "ord_1"));
+
+        List<String> ids = orderResource.streamAll(OrderListRequest.builder().build(), 4, true)
+                .map(Order::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("ord_1"), ids);
+        verify(mockClient, times(1)).getAsync(anyString(), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void listAllParallel_propagatesPageFailure() {
+        stubPage(1, page(1, 2, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.failedFuture(new SePayNotFoundException("gone")));
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder().build(), 2, false).iterator();
+        it.next();
+
+        assertThrows(SePayNotFoundException.class, it::hasNext);
+    }
+
+    @Test
+    void listAllParallel_pageFailureCancelsInFlightPages() {
+        CompletableFuture<OrderListResponse> third = new CompletableFuture<>();
+        stubPage(1, page(1, 3, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.failedFuture(new SePayNotFoundException("gone")));
+        when(mockClient.getAsync(matches(".*[?&]page=3(&.*)?$"), eq(OrderListResponse.class))).thenReturn(third);
+
+        Iterator<Order> it = orderResource.listAll(OrderListRequest.builder().build(), 2, true).iterator();
+        it.next();
+
+        assertThrows(SePayNotFoundException.class, it::hasNext);
+        assertTrue(third.isCancelled());
+    }
+
+    @Test
+    void streamAllParallel_closeCancelsInFlightPages() {
+        CompletableFuture<OrderListResponse> pending = new CompletableFuture<>();
+        stubPage(1, page(1, 2, "ord_1"));
+        when(mockClient.getAsync(matches(".*[?&]page=2(&.*)?$"), eq(OrderListResponse.class))).thenReturn(pending);
+
+        try (Stream<Order> orders = orderResource.streamAll(OrderListRequest.builder().build(), 2, true)) {
+            assertEquals("ord_1", orders.findFirst().get().getId());
+        }
+
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void listAllParallel_rejectsNonPositiveParallelism() {
+        OrderListRequest request = OrderListRequest.builder().build();
+        assertThrows(IllegalArgumentException.class, () -> orderResource.listAll(request, 0, true));
+        assertThrows(IllegalArgumentException.class, () -> orderResource.streamAll(request, 0, true));
+    }
+
+    @Test
+    void cancelAll_reportsPerOrderResults() {
+        Order cancelled = new Order();
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class))).thenAnswer(invocation -> {
+            CancelRequest body = invocation.getArgument(1);
+            return body.getOrderId().equals("ord_bad")
+                    ? CompletableFuture.failedFuture(new SePayNotFoundException("Order not found"))
+                    : CompletableFuture.completedFuture(cancelled);
+        });
+
+        Map<String, OrderOperationResult> results =
+                orderResource.cancelAll(Arrays.asList("ord_1", "ord_bad", "", "ord_2", "ord_1"));
+
+        assertEquals(Arrays.asList("ord_1", "ord_bad", "", "ord_2"), new ArrayList<>(results.keySet()));
+        assertTrue(results.get("ord_1").isSuccess());
+        assertSame(cancelled, results.get("ord_2").getOrder());
+        assertInstanceOf(SePayNotFoundException.class, results.get("ord_bad").getError());
+        assertNull(results.get("ord_bad").getOrder());
+        assertInstanceOf(SePayValidationException.class, results.get("").getError());
+        verify(mockClient, times(3)).postAsync(contains("cancel"), any(), eq(Order.class));
+    }
+
+    @Test
+    void cancelAll_boundsRequestsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return new Order();
+            });
+        });
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add("ord_" + i);
+        }
+
+        Map<String, OrderOperationResult> results = orderResource.cancelAll(ids, 3);
+
+        assertEquals(20, results.size());
+        assertTrue(results.values().stream().allMatch(OrderOperationResult::isSuccess));
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    void voidAll_sendsReasonForEveryOrder() {
+        when(mockClient.postAsync(anyString(), any(), eq(Order.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Order()));
+
+        orderResource.voidAll(Arrays.asList("ord_1", "ord_2"), "Duplicate", 2);
+
+        ArgumentCaptor<Object> bodyCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(mockClient, times(2)).postAsync(contains("voidTransaction"), bodyCaptor.capture(), eq(Order.class));
+        assertTrue(bodyCaptor.getAllValues().stream().allMatch(body -> "Duplicate".equals(((VoidRequest) body).getReason())));
+    }
+
+    @Test
+    void bulkOperations_rejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> orderResource.cancelAll(null));
+        assertThrows(IllegalArgumentException.class, () -> orderResource.voidAll(List.of("ord_1"), null, 0));
+        assertTrue(orderResource.voidAll(List.of()).isEmpty());
+    }
+
     @Test
     void list_emptyParams_appendQueryParams() throws Exception {
         // Test via reflection to cover empty params path
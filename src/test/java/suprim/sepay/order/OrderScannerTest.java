@@ -0,0 +1,162 @@
+package suprim.sepay.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import suprim.sepay.client.SePayHttpClient;
+import suprim.sepay.config.Environment;
+import suprim.sepay.exception.SePayServerException;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderScannerTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    private SePayHttpClient mockClient;
+    private OrderResource orderResource;
+    // Order IDs by creation date, as the fake API sees them
+    private TreeMap<LocalDate, List<String>> ordersByDate;
+    private List<Map<String, String>> queries;
+
+    @BeforeEach
+    void setUp() {
+        mockClient = mock(SePayHttpClient.class);
+        orderResource = new OrderResource(mockClient, Environment.SANDBOX);
+        ordersByDate = new TreeMap<>();
+        queries = new ArrayList<>();
+        when(mockClient.getAsync(anyString(), eq(OrderListResponse.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(listPage(invocation.getArgument(0))));
+    }
+
+    private void addOrders(LocalDate date, String... ids) {
+        ordersByDate.computeIfAbsent(date, d -> new ArrayList<>()).addAll(List.of(ids));
+    }
+
+    private OrderListResponse listPage(String url) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : URI.create(url).getQuery().split("&")) {
+            String[] kv = pair.split("=");
+            params.put(kv[0], kv[1]);
+        }
+        queries.add(params);
+        List<String> matching = new ArrayList<>();
+        ordersByDate.subMap(LocalDate.parse(params.get("from_created_at")), true,
+                LocalDate.parse(params.get("to_created_at")), true).values().forEach(matching::addAll);
+        int perPage = Integer.parseInt(params.get("per_page"));
+        int page = Integer.parseInt(params.get("page"));
+
+        List<Order> data = new ArrayList<>();
+        for (int i = (page - 1) * perPage; i < Math.min(matching.size(), page * perPage); i++) {
+            Order order = new Order();
+            order.setId(matching.get(i));
+            data.add(order);
+        }
+        OrderListResponse response = new OrderListResponse();
+        response.setData(data);
+        response.setPage(page);
+        response.setTotal(matching.size());
+        response.setTotalPages((matching.size() + perPage - 1) / perPage);
+        return response;
+    }
+
+    private OrderScanner.Builder scanner() {
+        return OrderScanner.builder(orderResource)
+                .filter(OrderListRequest.builder().perPage(2).status(OrderStatus.COMPLETED).build());
+    }
+
+    @Test
+    void scan_emitsEveryOrderOnce() {
+        addOrders(JAN_1, "ord_1", "ord_2", "ord_3");
+        addOrders(JAN_1.plusDays(9), "ord_4");
+        addOrders(JAN_1.plusDays(20), "ord_5");
+        Set<String> ids = new HashSet<>();
+
+        long count = scanner().shardDays(7).build().scan(JAN_1, JAN_1.plusDays(20), order -> ids.add(order.getId()));
+
+        assertEquals(5, count);
+        assertEquals(Set.of("ord_1", "ord_2", "ord_3", "ord_4", "ord_5"), ids);
+        // Three weekly shards, plus a second page for the first one
+        assertEquals(4, queries.size());
+        assertTrue(queries.stream().allMatch(q -> "completed".equals(q.get("order_status"))));
+    }
+
+    @Test
+    void scan_splitsShardsAboveThreshold() {
+        addOrders(JAN_1, "ord_1", "ord_2");
+        addOrders(JAN_1.plusDays(3), "ord_3", "ord_4");
+        addOrders(JAN_1.plusDays(6), "ord_5");
+
+        long count = scanner().shardDays(7).maxShardTotal(2).build().scan(JAN_1, JAN_1.plusDays(6), order -> { });
+
+        assertEquals(5, count);
+        // No query beyond the first page was needed after splitting
+        assertTrue(queries.stream().allMatch(q -> q.get("page").equals("1")));
+        assertTrue(queries.stream().anyMatch(q ->
+                q.get("from_created_at").equals("2024-01-01") && q.get("to_created_at").equals("2024-01-04")));
+    }
+
+    @Test
+    void scan_pagesThroughSingleDayAboveThreshold() {
+        addOrders(JAN_1, "ord_1", "ord_2", "ord_3");
+
+        long count = scanner().maxShardTotal(1).build().scan(JAN_1, JAN_1, order -> { });
+
+        assertEquals(3, count);
+    }
+
+    @Test
+    void scan_deduplicatesByIdWithinShard() {
+        // Same order reported on a later page, e.g. after moving during the scan
+        addOrders(JAN_1, "ord_1", "ord_2", "ord_1");
+        List<String> ids = new ArrayList<>();
+
+        scanner().build().scan(JAN_1, JAN_1, order -> ids.add(order.getId()));
+
+        assertEquals(2, ids.size());
+        assertEquals(Set.of("ord_1", "ord_2"), new HashSet<>(ids));
+    }
+
+    @Test
+    void scan_failsWhenAQueryFails() {
+        CompletableFuture<OrderListResponse> pending = new CompletableFuture<>();
+        when(mockClient.getAsync(contains("from_created_at=2024-01-01"), eq(OrderListResponse.class)))
+                .thenReturn(CompletableFuture.failedFuture(new SePayServerException("down", 503)));
+        when(mockClient.getAsync(contains("from_created_at=2024-01-02"), eq(OrderListResponse.class)))
+                .thenReturn(pending);
+
+        OrderScanner scanner = scanner().shardDays(1).build();
+
+        assertThrows(SePayServerException.class, () -> scanner.scan(JAN_1, JAN_1.plusDays(1), order -> { }));
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void scan_rejectsInvalidRange() {
+        OrderScanner scanner = scanner().build();
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(JAN_1, JAN_1.minusDays(1), order -> { }));
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(null, JAN_1, order -> { }));
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(JAN_1, JAN_1, null));
+    }
+
+    @Test
+    void builder_rejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> OrderScanner.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> scanner().filter(null));
+        assertThrows(IllegalArgumentException.class, () -> scanner().shardDays(0));
+        assertThrows(IllegalArgumentException.class, () -> scanner().maxShardTotal(0));
+        assertThrows(IllegalArgumentException.class, () -> scanner().parallelism(0));
+    }
+}
@@ -68,4 +68,13 @@ class OrderStatusTest {
             assertEquals(status.getValue(), status.toJson());
         }
     }
+
+    @Test
+    void isTerminal_onlyPendingIsNot() {
+        assertFalse(OrderStatus.PENDING.isTerminal());
+        assertTrue(OrderStatus.COMPLETED.isTerminal());
+        assertTrue(OrderStatus.FAILED.isTerminal());
+        assertTrue(OrderStatus.VOIDED.isTerminal());
+        assertTrue(OrderStatus.CANCELLED.isTerminal());
+    }
 }
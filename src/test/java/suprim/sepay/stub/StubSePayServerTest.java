@@ -0,0 +1,258 @@
+package suprim.sepay.stub;
+
+import org.junit.jupiter.api.Test;
+import suprim.sepay.client.SePayClient;
+import suprim.sepay.config.Endpoint;
+import suprim.sepay.exception.SePayApiException;
+import suprim.sepay.exception.SePayNotFoundException;
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListRequest;
+import suprim.sepay.order.OrderListResponse;
+import suprim.sepay.order.OrderScanner;
+import suprim.sepay.order.OrderStatus;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubSePayServerTest {
+
+    private static SePayClient client(StubSePayServer server, int maxRetries) {
+        return SePayClient.create(SePayClient.builder("merchant", "secret")
+            .transport(server)
+            .maxRetries(maxRetries)
+            .retryDelay(1)
+            .build());
+    }
+
+    private static Order order(String id, OrderStatus status, String customerId) {
+        Order order = new Order();
+        order.setId(id);
+        order.setInvoiceNumber("INV-" + id);
+        order.setAmount(10_000);
+        order.setCurrency("VND");
+        order.setStatus(status);
+        order.setCustomerId(customerId);
+        return order;
+    }
+
+    @Test
+    void testRetrieveOrder() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        server.addOrder(order("ord_1", OrderStatus.PENDING, null));
+
+        Order order = client(server, 0).orders().retrieve("ord_1");
+
+        assertEquals("ord_1", order.getId());
+        assertEquals("INV-ord_1", order.getInvoiceNumber());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(1, server.getRequestCount(Endpoint.ORDER_DETAIL));
+    }
+
+    @Test
+    void testRetrieveMissingOrder() {
+        StubSePayServer server = StubSePayServer.builder().build();
+
+        assertThrows(SePayNotFoundException.class, () -> client(server, 0).orders().retrieve("missing"));
+    }
+
+    @Test
+    void testListFiltersAndPages() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        for (int i = 0; i < 5; i++) {
+            server.addOrder(order("ord_" + i, OrderStatus.PENDING, i % 2 == 0 ? "cust_a" : "cust_b"));
+        }
+        server.addOrder(order("ord_9", OrderStatus.COMPLETED, "cust_a"));
+
+        OrderListResponse response = client(server, 0).orders().list(OrderListRequest.builder()
+            .customerId("cust_a")
+            .status(OrderStatus.PENDING)
+            .perPage(2)
+            .page(2)
+            .build());
+
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getTotalPages());
+        assertEquals(1, response.getData().size());
+        // Default sort is created_at:desc; undated orders tie and fall back to ID, descending
+        assertEquals("ord_0", response.getData().get(0).getId());
+    }
+
+    @Test
+    void testCancelAndVoid() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        server.addOrder(order("ord_p", OrderStatus.PENDING, null));
+        server.addOrder(order("ord_c", OrderStatus.COMPLETED, null));
+        SePayClient client = client(server, 0);
+
+        assertEquals(OrderStatus.CANCELLED, client.orders().cancel("ord_p").getStatus());
+        assertEquals(OrderStatus.VOIDED, client.orders().voidTransaction("ord_c").getStatus());
+        assertEquals(OrderStatus.CANCELLED, server.getOrder("ord_p").getStatus());
+
+        SePayApiException error = assertThrows(SePayApiException.class, () -> client.orders().cancel("ord_c"));
+        assertEquals(400, error.getStatusCode());
+    }
+
+    @Test
+    void testListFiltersByCreationDateAndSorts() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        Order early = order("ord_a", OrderStatus.COMPLETED, null);
+        early.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        early.setAmount(300);
+        Order middle = order("ord_b", OrderStatus.COMPLETED, null);
+        middle.setCreatedAt(LocalDateTime.of(2024, 1, 2, 9, 0));
+        middle.setAmount(100);
+        Order late = order("ord_c", OrderStatus.COMPLETED, null);
+        late.setCreatedAt(LocalDateTime.of(2024, 1, 3, 9, 0));
+        server.addOrder(early);
+        server.addOrder(middle);
+        server.addOrder(late);
+        server.addOrder(order("ord_undated", OrderStatus.COMPLETED, null));
+        SePayClient client = client(server, 0);
+
+        OrderListResponse newestFirst = client.orders().list(OrderListRequest.builder()
+            .fromDate(LocalDate.of(2024, 1, 1))
+            .toDate(LocalDate.of(2024, 1, 2))
+            .build());
+        OrderListResponse byAmount = client.orders().list(OrderListRequest.builder().sort("amount:asc").build());
+
+        assertEquals(List.of("ord_b", "ord_a"), ids(newestFirst));
+        assertEquals(List.of("ord_b", "ord_a"), ids(byAmount).subList(0, 2));
+        assertThrows(SePayApiException.class, () ->
+            client.orders().list(OrderListRequest.builder().sort("colour:asc").build()));
+    }
+
+    @Test
+    void testListPagesSeeWritesBetweenPages() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        for (int i = 0; i < 4; i++) {
+            server.addOrder(order("ord_" + i, OrderStatus.PENDING, null));
+        }
+        SePayClient client = client(server, 0);
+        OrderListRequest.Builder pending = OrderListRequest.builder().status(OrderStatus.PENDING).sort("id:asc").perPage(2);
+
+        assertEquals(List.of("ord_0", "ord_1"), ids(client.orders().list(pending.page(1).build())));
+        client.orders().cancel("ord_2");
+        server.addOrder(order("ord_5", OrderStatus.PENDING, null));
+        OrderListResponse second = client.orders().list(pending.page(2).build());
+
+        assertEquals(List.of("ord_3", "ord_5"), ids(second));
+        assertEquals(4, second.getTotal());
+    }
+
+    @Test
+    void testOrderScannerRunsAgainstStub() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        for (int day = 1; day <= 20; day++) {
+            Order order = order("ord_" + day, OrderStatus.COMPLETED, null);
+            order.setCreatedAt(LocalDateTime.of(2024, 1, day, 12, 0));
+            server.addOrder(order);
+        }
+        Set<String> seen = new HashSet<>();
+
+        long count = OrderScanner.builder(client(server, 0).orders())
+            .filter(OrderListRequest.builder().perPage(2).build())
+            .shardDays(7)
+            .maxShardTotal(3)
+            .build()
+            .scan(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 14), order -> seen.add(order.getId()));
+
+        assertEquals(10, count);
+        assertEquals(10, seen.size());
+        assertTrue(seen.contains("ord_5") && seen.contains("ord_14"));
+    }
+
+    @Test
+    void testSeedMakesFaultsReproducible() throws Exception {
+        StubSePayServer first = StubSePayServer.builder().rateLimitRate(0.3).serverErrorRate(0.3).seed(7).build();
+        StubSePayServer second = StubSePayServer.builder().rateLimitRate(0.3).serverErrorRate(0.3).seed(7).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://my.sepay.vn/userapi/order/list"))
+            .header("Authorization", "Basic dGVzdA==")
+            .build();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(first.send(request).getStatusCode(), second.send(request).getStatusCode());
+        }
+    }
+
+    private static List<String> ids(OrderListResponse response) {
+        return response.getData().stream().map(Order::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testMissingCredentialsRejected() throws Exception {
+        StubSePayServer server = StubSePayServer.builder().build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://my.sepay.vn/userapi/order/list")).build();
+
+        assertEquals(401, server.send(request).getStatusCode());
+    }
+
+    @Test
+    void testInjectedErrorsAreRetried() {
+        StubSePayServer server = StubSePayServer.builder()
+            .rateLimitRate(0.3)
+            .serverErrorRate(0.2)
+            .retryAfter(0)
+            .seed(42)
+            .build();
+        server.addOrder(order("ord_1", OrderStatus.PENDING, null));
+        SePayClient client = client(server, 10);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ord_1", client.orders().list().getData().get(0).getId());
+        }
+        assertTrue(server.getRequestCount(Endpoint.ORDER_LIST) > 20);
+    }
+
+    @Test
+    void testInjectedErrorsSurfaceWithoutRetries() {
+        StubSePayServer server = StubSePayServer.builder().serverErrorRate(1).build();
+
+        SePayApiException error = assertThrows(SePayApiException.class, () -> client(server, 0).orders().list());
+        assertEquals(503, error.getStatusCode());
+    }
+
+    @Test
+    void testLatency() throws Exception {
+        StubSePayServer server = StubSePayServer.builder().latency(50, 60).build();
+        server.addOrder(order("ord_1", OrderStatus.PENDING, null));
+
+        long start = System.nanoTime();
+        Order order = client(server, 0).orders().retrieveAsync("ord_1").get(5, TimeUnit.SECONDS);
+
+        assertEquals("ord_1", order.getId());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+    }
+
+    @Test
+    void testAddOrderAssignsIdAndCopies() {
+        StubSePayServer server = StubSePayServer.builder().build();
+        Order input = order(null, OrderStatus.PENDING, null);
+
+        Order stored = server.addOrder(input);
+        input.setStatus(OrderStatus.CANCELLED);
+
+        assertNotNull(stored.getId());
+        assertEquals(OrderStatus.PENDING, server.getOrder(stored.getId()).getStatus());
+        assertNull(server.getOrder("missing"));
+    }
+
+    @Test
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> StubSePayServer.builder().latency(10, 5));
+        assertThrows(IllegalArgumentException.class, () -> StubSePayServer.builder().rateLimitRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> StubSePayServer.builder().serverErrorRate(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> StubSePayServer.builder().retryAfter(-1));
+        assertThrows(IllegalArgumentException.class, () ->
+            StubSePayServer.builder().rateLimitRate(0.6).serverErrorRate(0.6).build());
+        assertThrows(IllegalArgumentException.class, () -> StubSePayServer.builder().build().addOrder(null));
+    }
+}
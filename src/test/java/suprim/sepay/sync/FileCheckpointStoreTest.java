@@ -0,0 +1,69 @@
+package suprim.sepay.sync;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import suprim.sepay.exception.SePayException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileCheckpointStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void missingFileLoadsEmptyCheckpoint() {
+        SyncCheckpoint checkpoint = new FileCheckpointStore(dir.resolve("absent.properties")).load();
+
+        assertNull(checkpoint.getCreatedHighWater());
+        assertNull(checkpoint.getUpdatedHighWater());
+        assertTrue(checkpoint.getIdsAtUpdatedHighWater().isEmpty());
+    }
+
+    @Test
+    void savedCheckpointRoundTrips() {
+        FileCheckpointStore store = new FileCheckpointStore(dir.resolve("nested/sync.properties"));
+        LocalDateTime created = LocalDateTime.of(2024, 3, 10, 12, 0);
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 10, 12, 30, 15);
+
+        store.save(new SyncCheckpoint(created, updated, Set.of("ord_1", "ord_2"), Set.of("ord_x")));
+        SyncCheckpoint loaded = store.load();
+
+        assertEquals(created, loaded.getCreatedHighWater());
+        assertEquals(updated, loaded.getUpdatedHighWater());
+        assertEquals(Set.of("ord_1", "ord_2"), loaded.getIdsAtUpdatedHighWater());
+        assertEquals(Set.of("ord_x"), loaded.getUndatedIds());
+    }
+
+    @Test
+    void saveReplacesPreviousCheckpoint() throws Exception {
+        FileCheckpointStore store = new FileCheckpointStore(dir.resolve("sync.properties"));
+        store.save(new SyncCheckpoint(LocalDateTime.of(2024, 1, 1, 0, 0), null, Set.of("ord_1")));
+
+        store.save(SyncCheckpoint.empty());
+
+        assertNull(store.load().getCreatedHighWater());
+        assertTrue(store.load().getIdsAtUpdatedHighWater().isEmpty());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void unreadableFileThrows() throws Exception {
+        Path directory = Files.createDirectory(dir.resolve("not-a-file"));
+
+        assertThrows(SePayException.class, () -> new FileCheckpointStore(directory).load());
+    }
+
+    @Test
+    void rejectsNullFile() {
+        assertThrows(IllegalArgumentException.class, () -> new FileCheckpointStore(null));
+    }
+}
@@ -0,0 +1,212 @@
+package suprim.sepay.sync;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import suprim.sepay.client.SePayHttpClient;
+import suprim.sepay.config.Environment;
+import suprim.sepay.order.Order;
+import suprim.sepay.order.OrderListResponse;
+import suprim.sepay.order.OrderResource;
+import suprim.sepay.order.OrderStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderSyncTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    private SePayHttpClient mockClient;
+    private InMemoryStore store;
+    private List<Order> serverOrders;
+    private OrderSync sync;
+
+    @BeforeEach
+    void setUp() {
+        mockClient = mock(SePayHttpClient.class);
+        store = new InMemoryStore();
+        serverOrders = new ArrayList<>();
+        when(mockClient.getAsync(anyString(), eq(OrderListResponse.class))).thenAnswer(invocation -> {
+            OrderListResponse response = new OrderListResponse();
+            response.setData(new ArrayList<>(serverOrders));
+            response.setPage(1);
+            response.setTotalPages(1);
+            return CompletableFuture.completedFuture(response);
+        });
+        sync = OrderSync.builder(new OrderResource(mockClient, Environment.SANDBOX))
+                .checkpointStore(store)
+                .lookbackDays(2)
+                .build();
+    }
+
+    private Order addOrder(String id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        serverOrders.add(order);
+        return order;
+    }
+
+    private List<String> runSync() {
+        List<String> ids = new ArrayList<>();
+        sync.run(order -> ids.add(order.getId()));
+        return ids;
+    }
+
+    @Test
+    void firstRunEmitsEverythingAndSavesCheckpoint() {
+        addOrder("ord_1", T0, null);
+        addOrder("ord_2", T0.plusHours(1), T0.plusHours(2));
+
+        assertEquals(List.of("ord_1", "ord_2"), runSync());
+
+        assertEquals(T0.plusHours(1), store.checkpoint.getCreatedHighWater());
+        assertEquals(T0.plusHours(2), store.checkpoint.getUpdatedHighWater());
+        assertEquals(Set.of("ord_2"), store.checkpoint.getIdsAtUpdatedHighWater());
+        verify(mockClient).getAsync(argThat(url -> !url.contains("from_created_at")), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void laterRunsEmitOnlyNewOrChangedOrders() {
+        addOrder("ord_1", T0, null);
+        Order changing = addOrder("ord_2", T0, T0);
+        runSync();
+
+        changing.setUpdatedAt(T0.plusMinutes(5));
+        addOrder("ord_3", T0.plusMinutes(1), null);
+
+        assertEquals(List.of("ord_2", "ord_3"), runSync());
+        assertEquals(List.of(), runSync());
+        // Re-lists from the newest creation date minus the lookback window
+        verify(mockClient, atLeastOnce()).getAsync(contains("from_created_at=2024-03-08"), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void orderAtHighWaterMarkNotYetSeenIsEmitted() {
+        addOrder("ord_1", T0, null);
+        runSync();
+
+        addOrder("ord_2", T0, null);
+
+        assertEquals(List.of("ord_2"), runSync());
+        assertEquals(Set.of("ord_1", "ord_2"), store.checkpoint.getIdsAtUpdatedHighWater());
+    }
+
+    @Test
+    void orderWithoutTimestampsIsEmittedOnce() {
+        addOrder("ord_1", T0, null);
+        addOrder("ord_x", null, null);
+
+        assertEquals(List.of("ord_1", "ord_x"), runSync());
+        assertEquals(Set.of("ord_x"), store.checkpoint.getUndatedIds());
+
+        assertEquals(List.of(), runSync());
+        assertEquals(Set.of("ord_x"), store.checkpoint.getUndatedIds());
+    }
+
+    @Test
+    void orderChangedOnEarlierPageDuringRunIsEmittedNextRun() {
+        Order first = new Order();
+        first.setId("ord_1");
+        first.setCreatedAt(T0);
+        first.setUpdatedAt(T0);
+        Order second = new Order();
+        second.setId("ord_2");
+        second.setCreatedAt(T0);
+        second.setUpdatedAt(T0.plusMinutes(59));
+        when(mockClient.getAsync(anyString(), eq(OrderListResponse.class))).thenAnswer(invocation -> {
+            boolean secondPage = invocation.<String>getArgument(0).contains("&page=2");
+            if (secondPage) {
+                // ord_1 changes on the server after its page was read
+                first.setUpdatedAt(T0.plusMinutes(58));
+            }
+            Order copy = new Order();
+            Order source = secondPage ? second : first;
+            copy.setId(source.getId());
+            copy.setCreatedAt(source.getCreatedAt());
+            copy.setUpdatedAt(source.getUpdatedAt());
+            OrderListResponse response = new OrderListResponse();
+            response.setData(List.of(copy));
+            response.setPage(secondPage ? 2 : 1);
+            response.setTotalPages(2);
+            return CompletableFuture.completedFuture(response);
+        });
+        OrderSync paged = OrderSync.builder(new OrderResource(mockClient, Environment.SANDBOX))
+                .checkpointStore(store)
+                .safetyMargin(Duration.ofMinutes(5))
+                .clock(Clock.fixed(T0.plusHours(1).toInstant(ZoneOffset.UTC), ZoneOffset.UTC))
+                .build();
+        List<String> ids = new ArrayList<>();
+
+        paged.run(order -> ids.add(order.getId()));
+        assertEquals(T0, store.checkpoint.getUpdatedHighWater());
+        ids.clear();
+        paged.run(order -> ids.add(order.getId()));
+
+        assertTrue(ids.contains("ord_1"), "ord_1 update was lost: " + ids);
+    }
+
+    @Test
+    void failedCallbackKeepsPreviousCheckpoint() {
+        addOrder("ord_1", T0, null);
+
+        assertThrows(IllegalStateException.class, () -> sync.run(order -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertNull(store.checkpoint);
+        assertEquals(List.of("ord_1"), runSync());
+    }
+
+    @Test
+    void initialFromDateLimitsFirstRun() {
+        OrderSync limited = OrderSync.builder(new OrderResource(mockClient, Environment.SANDBOX))
+                .checkpointStore(store)
+                .initialFromDate(LocalDate.of(2024, 1, 1))
+                .build();
+
+        limited.run(order -> { });
+
+        verify(mockClient).getAsync(contains("from_created_at=2024-01-01"), eq(OrderListResponse.class));
+    }
+
+    @Test
+    void builderRejectsInvalidValues() {
+        OrderResource orders = new OrderResource(mockClient, Environment.SANDBOX);
+        assertThrows(IllegalArgumentException.class, () -> OrderSync.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> OrderSync.builder(orders).checkpointStore(null));
+        assertThrows(IllegalArgumentException.class, () -> OrderSync.builder(orders).filter(null));
+        assertThrows(IllegalArgumentException.class, () -> OrderSync.builder(orders).lookbackDays(-1));
+        assertThrows(IllegalArgumentException.class, () -> OrderSync.builder(orders).safetyMargin(null));
+        assertThrows(IllegalArgumentException.class, () ->
+                OrderSync.builder(orders).safetyMargin(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> sync.run(null));
+    }
+
+    private static final class InMemoryStore implements CheckpointStore {
+        private SyncCheckpoint checkpoint;
+
+        @Override
+        public SyncCheckpoint load() {
+            return checkpoint != null ? checkpoint : SyncCheckpoint.empty();
+        }
+
+        @Override
+        public void save(SyncCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+    }
+}